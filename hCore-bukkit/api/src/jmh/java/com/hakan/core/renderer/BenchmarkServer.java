@@ -0,0 +1,180 @@
+package com.hakan.core.renderer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * BenchmarkServer class to run renderer
+ * benchmarks without a server. Server, world
+ * and players are proxies which only answer
+ * the calls the renderer system makes.
+ */
+final class BenchmarkServer {
+
+    private static final UUID WORLD_UID = UUID.randomUUID();
+    private static final World world = BenchmarkServer.proxy(World.class, (proxy, method, args) -> {
+        switch (method.getName()) {
+            case "getUID":
+                return WORLD_UID;
+            case "getName":
+                return "world";
+            default:
+                return BenchmarkServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        }
+    });
+    private static final Map<UUID, Player> players = new ConcurrentHashMap<>();
+    private static final Map<UUID, double[]> positions = new ConcurrentHashMap<>();
+
+    /**
+     * Installs the server if
+     * it is not installed yet.
+     */
+    static void install() {
+        if (Bukkit.getServer() != null)
+            return;
+
+        Logger logger = Logger.getLogger("benchmark");
+        Bukkit.setServer(BenchmarkServer.proxy(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getOnlinePlayers":
+                    return new ArrayList<>(players.values());
+                case "getPlayer":
+                    return (args[0] instanceof UUID) ? players.get(args[0]) : null;
+                case "getWorld":
+                    return world;
+                case "getLogger":
+                    return logger;
+                default:
+                    return BenchmarkServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        }));
+    }
+
+    /**
+     * Gets the world.
+     *
+     * @return World.
+     */
+    @Nonnull
+    static World getWorld() {
+        return world;
+    }
+
+    /**
+     * Replaces online players with players at
+     * random positions in a square, then
+     * captures the snapshot.
+     *
+     * @param count Player count.
+     * @param size  Size of square.
+     * @param seed  Random seed.
+     */
+    static void spawnPlayers(int count, double size, long seed) {
+        players.clear();
+        positions.clear();
+
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            UUID uid = UUID.randomUUID();
+            double[] position = {(random.nextDouble() - 0.5) * size, 64, (random.nextDouble() - 0.5) * size};
+            positions.put(uid, position);
+            players.put(uid, BenchmarkServer.createPlayer(uid, position));
+        }
+        PlayerSnapshot.capture();
+    }
+
+    /**
+     * Moves each player randomly on x and z
+     * axes up to the step, then captures
+     * the snapshot.
+     *
+     * @param step   Max step.
+     * @param random Random.
+     */
+    static void movePlayers(double step, @Nonnull Random random) {
+        for (double[] position : positions.values()) {
+            position[0] += (random.nextDouble() * 2 - 1) * step;
+            position[2] += (random.nextDouble() * 2 - 1) * step;
+        }
+        PlayerSnapshot.capture();
+    }
+
+    /**
+     * Creates random location in a square.
+     *
+     * @param size   Size of square.
+     * @param random Random.
+     * @return Location.
+     */
+    @Nonnull
+    static Location randomLocation(double size, @Nonnull Random random) {
+        return new Location(world, (random.nextDouble() - 0.5) * size, 64, (random.nextDouble() - 0.5) * size);
+    }
+
+
+    @Nonnull
+    private static Player createPlayer(@Nonnull UUID uid, @Nonnull double[] position) {
+        return BenchmarkServer.proxy(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uid;
+                case "getWorld":
+                    return world;
+                case "getEyeHeight":
+                    return 1.62;
+                case "isOnline":
+                    return true;
+                case "getLocation":
+                    Location location = (args != null && args.length == 1) ? (Location) args[0] : new Location(world, 0, 0, 0);
+                    location.setWorld(world);
+                    location.setX(position[0]);
+                    location.setY(position[1]);
+                    location.setZ(position[2]);
+                    return location;
+                default:
+                    return BenchmarkServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(@Nonnull Class<T> clazz, @Nonnull InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BenchmarkServer.class.getClassLoader(), new Class[]{clazz}, handler);
+    }
+
+    private static Object defaultValue(@Nonnull Object proxy, @Nonnull String name, @Nonnull Class<?> type, Object[] args) {
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "benchmark@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+
+        if (type == String.class) return "benchmark";
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0D;
+        if (type == float.class) return 0F;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        return null;
+    }
+}
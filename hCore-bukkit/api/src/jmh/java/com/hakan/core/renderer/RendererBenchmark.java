@@ -0,0 +1,154 @@
+package com.hakan.core.renderer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RendererBenchmark class to compare the
+ * incremental render pass with the copying
+ * diff it replaced. Steady benchmarks render
+ * while nobody moves, moving benchmarks move
+ * every player before each pass. Run with
+ * "-prof gc" to see allocation per pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RendererBenchmark {
+
+    private static final double SIZE = 1024;
+
+    @Param({"100", "500"})
+    public int players;
+
+    @Param({"1000", "5000"})
+    public int renderers;
+
+    private Renderer[] array;
+    private List<Set<UUID>> legacyShown;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.install();
+        BenchmarkServer.spawnPlayers(this.players, SIZE, 1);
+
+        this.random = new Random(2);
+        this.array = new Renderer[this.renderers];
+        this.legacyShown = new ArrayList<>(this.renderers);
+        for (int i = 0; i < this.renderers; i++) {
+            this.array[i] = new Renderer(BenchmarkServer.randomLocation(SIZE, this.random), 30,
+                    players -> {
+                    }, players -> {
+                    }, renderer -> {
+                    }).showEveryone(true).render();
+            this.legacyShown.add(new HashSet<>(this.array[i].getShownViewers()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Renderer renderer : this.array)
+            renderer.delete();
+    }
+
+    @Benchmark
+    public void renderSteady() {
+        for (Renderer renderer : this.array)
+            renderer.render();
+    }
+
+    @Benchmark
+    public void legacyRenderSteady(Blackhole blackhole) {
+        for (int i = 0; i < this.array.length; i++)
+            this.legacyShown.set(i, RendererBenchmark.legacyRender(this.array[i], this.legacyShown.get(i), blackhole));
+    }
+
+    @Benchmark
+    public void renderMoving() {
+        BenchmarkServer.movePlayers(2, this.random);
+        for (Renderer renderer : this.array)
+            renderer.render();
+    }
+
+    @Benchmark
+    public void legacyRenderMoving(Blackhole blackhole) {
+        BenchmarkServer.movePlayers(2, this.random);
+        for (int i = 0; i < this.array.length; i++)
+            this.legacyShown.set(i, RendererBenchmark.legacyRender(this.array[i], this.legacyShown.get(i), blackhole));
+    }
+
+    /**
+     * Render pass before the incremental diff. It
+     * copies viewers and shown viewers into lists,
+     * diffs them with List.contains, resolves
+     * players through Bukkit and rebuilds the
+     * shown set on every pass.
+     *
+     * @param renderer     Renderer.
+     * @param shownViewers Shown viewers of the last pass.
+     * @param blackhole    Blackhole to consume deltas.
+     * @return Shown viewers.
+     */
+    @Nonnull
+    private static Set<UUID> legacyRender(@Nonnull Renderer renderer, @Nonnull Set<UUID> shownViewers, @Nonnull Blackhole blackhole) {
+        Set<UUID> around = new HashSet<>();
+        for (Player player : RendererGrid.getPlayersAround(renderer.getLocation(), renderer.getRadius()))
+            around.add(player.getUniqueId());
+
+        List<UUID> viewers = new ArrayList<>(around);
+        List<UUID> oldShown = new ArrayList<>(shownViewers);
+        List<UUID> newShown = new ArrayList<>();
+        for (UUID uid : viewers) {
+            Player player = Bukkit.getPlayer(uid);
+            if (player == null)
+                continue;
+
+            double distance = renderer.calculateDistance(player.getLocation());
+            if (distance != -1 && distance <= renderer.getRadius())
+                newShown.add(uid);
+        }
+
+        List<Player> hide = new ArrayList<>();
+        for (UUID uid : oldShown) {
+            if (!newShown.contains(uid)) {
+                Player player = Bukkit.getPlayer(uid);
+                if (player != null) hide.add(player);
+            }
+        }
+
+        List<Player> show = new ArrayList<>();
+        for (UUID uid : newShown)
+            if (!oldShown.contains(uid))
+                show.add(Bukkit.getPlayer(uid));
+
+        blackhole.consume(hide);
+        blackhole.consume(show);
+        return new HashSet<>(newShown);
+    }
+}
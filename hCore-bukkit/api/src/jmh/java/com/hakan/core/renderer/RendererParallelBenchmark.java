@@ -0,0 +1,84 @@
+package com.hakan.core.renderer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RendererParallelBenchmark class to measure
+ * how render passes scale with parallelism
+ * and which fork-join threshold splits them
+ * best. Parallelism 0 is the serial pass.
+ * Players move before each pass, so every
+ * renderer has work to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RendererParallelBenchmark {
+
+    private static final double SIZE = 1024;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"16", "64", "256"})
+    public int threshold;
+
+    @Param({"500"})
+    public int players;
+
+    @Param({"5000"})
+    public int renderers;
+
+    private List<Renderer> list;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.install();
+        BenchmarkServer.spawnPlayers(this.players, SIZE, 1);
+        RendererHandler.setParallelism(this.parallelism);
+        RendererHandler.setThreshold(this.threshold);
+
+        this.random = new Random(2);
+        this.list = new ArrayList<>(this.renderers);
+        for (int i = 0; i < this.renderers; i++) {
+            this.list.add(new Renderer(BenchmarkServer.randomLocation(SIZE, this.random), 30,
+                    players -> {
+                    }, players -> {
+                    }, renderer -> {
+                    }).showEveryone(true).render());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.list.forEach(Renderer::delete);
+        RendererHandler.setParallelism(0);
+        RendererHandler.setThreshold(64);
+    }
+
+    @Benchmark
+    public void renderMoving() {
+        BenchmarkServer.movePlayers(2, this.random);
+        RendererHandler.render(this.list, renderer -> renderer);
+    }
+}
@@ -24,9 +24,15 @@
 import com.hakan.core.npc.NpcHandler;
 import com.hakan.core.npc.builder.NpcBuilder;
 import com.hakan.core.packet.PacketHandler;
+import com.hakan.core.packet.bus.PacketBus;
+import com.hakan.core.packet.bus.PacketSubscription;
+import com.hakan.core.packet.event.PacketEvent;
 import com.hakan.core.particle.Particle;
 import com.hakan.core.particle.ParticleHandler;
 import com.hakan.core.protocol.ProtocolVersion;
+import com.hakan.core.renderer.PlayerSnapshot;
+import com.hakan.core.renderer.RendererGrid;
+import com.hakan.core.renderer.RendererHandler;
 import com.hakan.core.scheduler.Scheduler;
 import com.hakan.core.scoreboard.Scoreboard;
 import com.hakan.core.scoreboard.ScoreboardHandler;
@@ -61,6 +67,7 @@
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Main class of this core.
@@ -105,6 +112,9 @@ public static void initialize(@Nonnull JavaPlugin plugin) {
         Metrics.initialize(plugin);
 
         PacketHandler.initialize();
+        PlayerSnapshot.initialize();
+        RendererGrid.initialize();
+        RendererHandler.initialize();
         GuiHandler.initialize();
         NpcHandler.initialize();
         ItemBuilder.initialize();
@@ -537,6 +547,50 @@ public static <T extends Event> ListenerAdapter<T> registerEvent(@Nonnull Class<
     PACKET
      */
 
+    /**
+     * Checks packets are batched
+     * and flushed once per tick.
+     *
+     * @return If packets are batched, returns true.
+     */
+    public static boolean isPacketBatching() {
+        return PacketHandler.isBatching();
+    }
+
+    /**
+     * Sets packet batching mode. If it is enabled,
+     * packets sent through hCore are queued and
+     * flushed once at the end of the tick.
+     *
+     * @param batching Batching mode.
+     */
+    public static void setPacketBatching(boolean batching) {
+        PacketHandler.setBatching(batching);
+    }
+
+    /**
+     * Checks redundant entity updates
+     * are coalesced before packets are
+     * flushed.
+     *
+     * @return If packets are coalesced, returns true.
+     */
+    public static boolean isPacketCoalescing() {
+        return PacketHandler.isCoalescing();
+    }
+
+    /**
+     * Sets packet coalescing mode. If it is enabled,
+     * only the last teleport, metadata and head
+     * rotation packet of each entity is sent per
+     * tick. It only works when batching is enabled.
+     *
+     * @param coalescing Coalescing mode.
+     */
+    public static void setPacketCoalescing(boolean coalescing) {
+        PacketHandler.setCoalescing(coalescing);
+    }
+
     /**
      * Sends packets to player.
      *
@@ -544,7 +598,7 @@ public static <T extends Event> ListenerAdapter<T> registerEvent(@Nonnull Class<
      * @param packets Packets.
      */
     public static void sendPacket(@Nonnull Player player, @Nonnull Object... packets) {
-        PacketHandler.findByPlayer(player).ifPresent(packetPlayer -> packetPlayer.send(packets));
+        PacketHandler.findByPlayer(player).ifPresent(packetPlayer -> packetPlayer.post(packets));
     }
 
     /**
@@ -574,7 +628,89 @@ public static void sendPacket(@Nonnull Collection<Player> players, @Nonnull Obje
      * @param packets Packets.
      */
     public static void sendPacket(@Nonnull Collection<Player> players, @Nonnull Object... packets) {
-        Validate.notNull(players, "players cannot be null!").forEach(player -> HCore.sendPacket(player, packets));
+        PacketHandler.broadcast(players, packets);
+    }
+
+    /**
+     * Sends packets to player in a bundle,
+     * so client processes them in the same
+     * frame. (Only 1.19.4 and newer)
+     *
+     * @param player  Player.
+     * @param packets Packets.
+     */
+    public static void sendPacketBundle(@Nonnull Player player, @Nonnull Object... packets) {
+        HCore.sendPacket(player, PacketHandler.bundle(packets));
+    }
+
+    /**
+     * Sends packets to player list in a bundle,
+     * so client processes them in the same
+     * frame. (Only 1.19.4 and newer)
+     *
+     * @param players Player list.
+     * @param packets Packets.
+     */
+    public static void sendPacketBundle(@Nonnull Collection<Player> players, @Nonnull Object... packets) {
+        HCore.sendPacket(players, PacketHandler.bundle(packets));
+    }
+
+    /**
+     * Subscribes to packets of given class.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @param consumer    Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribePacket(@Nonnull Class<?> packetClass, @Nonnull PacketEvent.Type type, @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.subscribe(packetClass, type, consumer);
+    }
+
+    /**
+     * Subscribes to packets of given class name.
+     *
+     * @param packetName Simple name of packet class.
+     * @param type       Packet type.
+     * @param consumer   Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribePacket(@Nonnull String packetName, @Nonnull PacketEvent.Type type, @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.subscribe(packetName, type, consumer);
+    }
+
+    /**
+     * Subscribes to packets of given class
+     * asynchronously. Consumer runs off the
+     * netty thread, in order for each player,
+     * and cannot cancel the packet.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @param consumer    Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribePacketAsync(@Nonnull Class<?> packetClass, @Nonnull PacketEvent.Type type, @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.subscribeAsync(packetClass, type, consumer);
+    }
+
+    /**
+     * Subscribes to packets of given class name
+     * asynchronously. Consumer runs off the
+     * netty thread, in order for each player,
+     * and cannot cancel the packet.
+     *
+     * @param packetName Simple name of packet class.
+     * @param type       Packet type.
+     * @param consumer   Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribePacketAsync(@Nonnull String packetName, @Nonnull PacketEvent.Type type, @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.subscribeAsync(packetName, type, consumer);
     }
 
 
@@ -3,6 +3,7 @@
 import com.hakan.core.HCore;
 import com.hakan.core.border.builder.BorderBuilder;
 import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.Registry;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -22,7 +23,7 @@
  */
 public final class BorderHandler {
 
-    private static final Map<Player, Border> borders = new HashMap<>();
+    private static final Registry<Player, Border> borders = new Registry<>();
 
     /**
      * Initializes the world border system.
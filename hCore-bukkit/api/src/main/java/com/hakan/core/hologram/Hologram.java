@@ -2,11 +2,16 @@
 
 import com.hakan.core.HCore;
 import com.hakan.core.hologram.action.HologramAction;
+import com.hakan.core.hologram.animation.HologramAnimation;
+import com.hakan.core.hologram.hitbox.HologramHitbox;
 import com.hakan.core.hologram.line.HologramLine;
 import com.hakan.core.hologram.line.empty.EmptyLine;
 import com.hakan.core.hologram.line.item.ItemLine;
 import com.hakan.core.hologram.line.text.TextLine;
+import com.hakan.core.packet.PacketHandler;
+import com.hakan.core.renderer.PlayerSnapshot;
 import com.hakan.core.renderer.Renderer;
+import com.hakan.core.renderer.RendererTier;
 import com.hakan.core.utils.Validate;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -15,15 +20,22 @@
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Hologram class to create and
@@ -35,8 +47,17 @@ public final class Hologram {
     private final String id;
     private final Renderer renderer;
     private final HologramAction action;
+    private final HologramHitbox hitbox;
     private final List<HologramLine> lines;
+    private final Set<UUID> stale;
+    private final Map<TextLine, Function<Player, String>> providers;
+    private final Map<TextLine, Map<UUID, String>> texts;
+    private final Map<HologramLine, HologramAnimation> animations;
+    private Map<HologramLine, Location> editing;
     private double lineDistance;
+    private final Map<UUID, Player> deferred;
+    private int edits;
+    private volatile long tick;
 
     /**
      * Creates new instance of this class.
@@ -58,13 +79,24 @@ public Hologram(@Nonnull String id,
 
         this.id = id;
         this.lines = new LinkedList<>();
+        this.stale = ConcurrentHashMap.newKeySet();
+        this.providers = new ConcurrentHashMap<>();
+        this.texts = new ConcurrentHashMap<>();
+        this.animations = new ConcurrentHashMap<>();
+        this.deferred = new HashMap<>();
         this.lineDistance = lineDistance;
         this.action = new HologramAction(this);
+        this.hitbox = HologramHandler.isDisplayEntities() ? HologramHitbox.create(this, location) : null;
         this.renderer = new Renderer(location, 30, playerList,
-                players -> this.lines.forEach(line -> line.show(players)),
-                players -> this.lines.forEach(line -> line.hide(players)),
-                renderer -> this.lines.forEach(line -> line.hide(renderer.getShownPlayers())));
+                this::show, this::hide, renderer -> this.hide(renderer.getShownPlayers()));
 
+        if (this.hitbox != null) {
+            HologramHandler.indexHitbox(this.hitbox);
+            this.updateHitbox();
+        }
+
+        this.renderer.setOwner(this);
+        this.renderer.whenLeft(this::forget);
         this.renderer.showEveryone(showEveryone);
         this.renderer.render();
         this.action.onSpawn();
@@ -109,6 +141,15 @@ public HologramAction getAction() {
         return this.action;
     }
 
+    /**
+     * Checks hologram uses display entities.
+     *
+     * @return If hologram uses display entities, returns true.
+     */
+    public boolean isDisplayEntities() {
+        return this.hitbox != null;
+    }
+
     /**
      * Gets distance between two lines of hologram.
      *
@@ -140,6 +181,301 @@ public Renderer getRenderer() {
         return this.renderer;
     }
 
+    /**
+     * Gets shown players which text updates
+     * are sent to at once. Viewers in far tier
+     * or out of the view cone are skipped and
+     * marked as stale. Their text lines are
+     * refreshed in interval of their tier once
+     * the hologram is in their view.
+     *
+     * @return Shown players to update.
+     */
+    @Nonnull
+    public List<Player> getUpdatePlayers() {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        List<Player> players = new ArrayList<>();
+        for (UUID uid : this.renderer.getShownViewers()) {
+            int index = snapshot.indexOf(uid);
+            if (index == -1)
+                continue;
+
+            if (this.renderer.getTier(snapshot, index) == RendererTier.FAR || !this.renderer.isInView(snapshot, index))
+                this.stale.add(uid);
+            else
+                players.add(snapshot.getPlayer(index));
+        }
+        return players;
+    }
+
+    /**
+     * Sends current texts of text lines
+     * to stale viewers whose tier allows
+     * an update at the tick. Only metadata
+     * is sent, lines are not respawned.
+     *
+     * @param tick Tick.
+     */
+    void refresh(long tick) {
+        if (this.stale.isEmpty())
+            return;
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        Set<UUID> shownViewers = this.renderer.getShownViewers();
+        List<Player> players = new ArrayList<>();
+        for (UUID uid : this.stale) {
+            int index = snapshot.indexOf(uid);
+            if (index == -1 || !shownViewers.contains(uid)) {
+                this.stale.remove(uid);
+            } else if (this.renderer.getTier(snapshot, index).shouldUpdate(tick) && this.renderer.isInView(snapshot, index)) {
+                this.stale.remove(uid);
+                players.add(snapshot.getPlayer(index));
+            }
+        }
+
+        if (players.size() > 0) {
+            for (HologramLine line : this.lines)
+                if (line instanceof TextLine && !this.providers.containsKey(line) && !this.animations.containsKey(line))
+                    ((TextLine) line).sendText(players, ((TextLine) line).getText());
+            this.sendTexts(players);
+            this.sendFrames(players);
+        }
+    }
+
+    /**
+     * Gets text provider of the line.
+     *
+     * @param index Index of line.
+     * @return Text provider, null if line has static text.
+     */
+    @Nullable
+    public Function<Player, String> getTextProvider(int index) {
+        HologramLine line = this.getLine(index);
+        return (line instanceof TextLine) ? this.providers.get(line) : null;
+    }
+
+    /**
+     * Sets text provider of the line. Each viewer
+     * sees the text which provider returns for
+     * them. Providers are evaluated in the
+     * hologram tick off the main thread, and
+     * metadata is sent to a viewer only if their
+     * text changed. Setting static text to the
+     * line through hologram removes its provider.
+     *
+     * @param index    Index of line.
+     * @param provider Text provider, null to remove.
+     * @return Instance of this class.
+     */
+    @Nonnull
+    public Hologram setTextProvider(int index, @Nullable Function<Player, String> provider) {
+        Validate.isTrue(!(this.getLine(index) instanceof TextLine), "line at index " + index + " is not a text line!");
+
+        TextLine line = this.getLine(index);
+        if (provider != null) {
+            this.texts.put(line, new ConcurrentHashMap<>());
+            this.providers.put(line, provider);
+            this.animations.remove(line);
+        } else if (this.providers.remove(line) != null) {
+            this.texts.remove(line);
+            line.sendText(this.renderer.getShownPlayers(), line.getText());
+        }
+        return this;
+    }
+
+    /**
+     * Evaluates text providers for shown
+     * viewers whose tier allows an update
+     * at the tick, and sends changed texts.
+     *
+     * @param tick Tick.
+     */
+    void updateTexts(long tick) {
+        if (this.providers.isEmpty())
+            return;
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        for (UUID uid : this.renderer.getShownViewers()) {
+            int index = snapshot.indexOf(uid);
+            if (index == -1 || !this.renderer.getTier(snapshot, index).shouldUpdate(tick) || !this.renderer.isInView(snapshot, index))
+                continue;
+
+            Player player = snapshot.getPlayer(index);
+            this.providers.forEach((line, provider) -> this.sendText(line, provider, player, false));
+        }
+    }
+
+    /**
+     * Evaluates text providers for the
+     * players and sends them regardless
+     * of their last texts.
+     *
+     * @param players Players.
+     */
+    private void sendTexts(@Nonnull List<Player> players) {
+        if (this.providers.isEmpty())
+            return;
+
+        for (Player player : players)
+            this.providers.forEach((line, provider) -> this.sendText(line, provider, player, true));
+    }
+
+    /**
+     * Sends text of provider to the player
+     * if it is changed since last time.
+     *
+     * @param line     Text line.
+     * @param provider Text provider.
+     * @param player   Player.
+     * @param force    If true, sends even if it is not changed.
+     */
+    private void sendText(@Nonnull TextLine line, @Nonnull Function<Player, String> provider,
+                          @Nonnull Player player, boolean force) {
+        Map<UUID, String> texts = this.texts.get(line);
+        if (texts == null)
+            return;
+
+        String text = provider.apply(player);
+        if (text == null) text = "";
+
+        String old = texts.put(player.getUniqueId(), text);
+        if (force || !text.equals(old))
+            line.sendText(Collections.singletonList(player), text);
+    }
+
+    /**
+     * Gets animation of the line.
+     *
+     * @param index Index of line.
+     * @return Animation, null if line is not animated.
+     */
+    @Nullable
+    public HologramAnimation getAnimation(int index) {
+        return this.animations.get(this.getLine(index));
+    }
+
+    /**
+     * Sets animation of the line. Text animations
+     * are sent only to viewers, and item animations
+     * change item of the line. All animations are
+     * driven by the hologram tick, so they do not
+     * need a task for each line. Setting static
+     * text or item to the line through hologram
+     * removes its animation.
+     *
+     * @param index     Index of line.
+     * @param animation Animation, null to remove.
+     * @return Instance of this class.
+     */
+    @Nonnull
+    public Hologram setAnimation(int index, @Nullable HologramAnimation animation) {
+        HologramLine line = this.getLine(index);
+        if (animation == null) {
+            if (this.animations.remove(line) != null && line instanceof TextLine)
+                ((TextLine) line).sendText(this.renderer.getShownPlayers(), ((TextLine) line).getText());
+            return this;
+        }
+
+        Validate.isTrue(animation.isText() ? !(line instanceof TextLine) : !(line instanceof ItemLine),
+                "animation frames do not match the line at index " + index + "!");
+
+        this.removeProvider(line);
+        this.animations.put(line, animation);
+        if (line instanceof TextLine)
+            ((TextLine) line).sendText(this.renderer.getShownPlayers(), animation.getFrame(this.tick));
+        else
+            ((ItemLine) line).setItem(animation.getFrame(this.tick));
+        return this;
+    }
+
+    /**
+     * Advances animations of the lines. Work is
+     * skipped if hologram has no viewers. A frame
+     * is sent to viewers of a tier only at ticks
+     * which the tier allows an update, and only
+     * if the frame is changed since the last one
+     * of the tier. Viewers of the tier which are
+     * out of the view cone are marked as stale
+     * instead, so they get the current frame
+     * once when they look back.
+     *
+     * @param tick Tick.
+     */
+    void animate(long tick) {
+        this.tick = tick;
+        if (this.animations.isEmpty() || this.renderer.getShownViewers().isEmpty())
+            return;
+
+        RendererTier[] tiers = RendererTier.values();
+        List<List<Player>> viewers = new ArrayList<>(tiers.length);
+        List<List<UUID>> hidden = new ArrayList<>(tiers.length);
+        for (int i = 0; i < tiers.length; i++) {
+            viewers.add(new ArrayList<>());
+            hidden.add(new ArrayList<>());
+        }
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        for (UUID uid : this.renderer.getShownViewers()) {
+            int index = snapshot.indexOf(uid);
+            if (index == -1)
+                continue;
+
+            int tier = this.renderer.getTier(snapshot, index).ordinal();
+            if (this.renderer.isInView(snapshot, index))
+                viewers.get(tier).add(snapshot.getPlayer(index));
+            else
+                hidden.get(tier).add(uid);
+        }
+
+        this.animations.forEach((line, animation) -> {
+            List<Player> players = new ArrayList<>();
+            for (RendererTier tier : tiers) {
+                if (!tier.shouldUpdate(tick) || !animation.isChanged(tick, tier.getInterval()))
+                    continue;
+
+                players.addAll(viewers.get(tier.ordinal()));
+                if (line instanceof TextLine)
+                    this.stale.addAll(hidden.get(tier.ordinal()));
+            }
+            if (players.isEmpty())
+                return;
+
+            if (line instanceof TextLine)
+                ((TextLine) line).sendText(players, animation.getFrame(tick));
+            else if (line instanceof ItemLine)
+                ((ItemLine) line).setItem(animation.getFrame(tick));
+        });
+    }
+
+    /**
+     * Sends current frames of text
+     * animations to the players.
+     *
+     * @param players Players.
+     */
+    private void sendFrames(@Nonnull List<Player> players) {
+        if (this.animations.isEmpty())
+            return;
+
+        long tick = this.tick;
+        this.animations.forEach((line, animation) -> {
+            if (line instanceof TextLine)
+                ((TextLine) line).sendText(players, animation.getFrame(tick));
+        });
+    }
+
+    /**
+     * Removes text provider and
+     * animation of the line.
+     *
+     * @param line Hologram line.
+     */
+    private void removeProvider(@Nonnull HologramLine line) {
+        this.animations.remove(line);
+        if (line instanceof TextLine && this.providers.remove(line) != null)
+            this.texts.remove(line);
+    }
+
     /**
      * Checks everyone can
      * see the hologram.
@@ -258,8 +594,8 @@ public boolean hasLineByEntityID(int entityID) {
      */
     @Nullable
     public <T extends HologramLine> T getLineByEntityID(int entityID) {
-        return (T) this.lines.stream().filter(line -> line.getEntityID() == entityID)
-                .findFirst().orElse(null);
+        HologramLine line = HologramHandler.findLineByEntityID(entityID).orElse(null);
+        return (line != null && line.getHologram() == this) ? (T) line : null;
     }
 
     /**
@@ -272,8 +608,7 @@ public <T extends HologramLine> T getLineByEntityID(int entityID) {
      */
     @Nullable
     public <T extends HologramLine> T getLineByEntityID(int entityID, @Nonnull Class<T> tClass) {
-        return tClass.cast(this.lines.stream().filter(line -> line.getEntityID() == entityID)
-                .findFirst().orElse(null));
+        return tClass.cast(this.getLineByEntityID(entityID));
     }
 
     /**
@@ -430,8 +765,50 @@ public Hologram removeViewerByUID(@Nonnull UUID... uids) {
     @Nonnull
     public Hologram setLocation(@Nonnull Location location) {
         this.renderer.setLocation(Validate.notNull(location, "location cannot be null!"));
+        this.renderer.setSpawnCost(Math.max(1, this.lines.size() + ((this.hitbox != null) ? 1 : 0)));
+        if (this.edits > 0)
+            return this;
+
         for (int i = 0; i < this.lines.size(); i++)
             this.lines.get(i).setLocation(this.calculateLocation(i));
+        this.updateHitbox();
+        return this;
+    }
+
+    /**
+     * Edits hologram in a batch. Changes made
+     * by the editor are staged, then lines are
+     * laid out once and only the difference is
+     * sent to the viewers: destroys for removed
+     * lines, spawns for added lines and teleports
+     * for moved lines. Edits can be nested, only
+     * the outermost one is committed.
+     *
+     * @param editor Editor.
+     * @return Instance of this class.
+     */
+    @Nonnull
+    public Hologram edit(@Nonnull Consumer<Hologram> editor) {
+        Validate.notNull(editor, "editor cannot be null!");
+
+        synchronized (this) {
+            if (this.edits++ == 0) {
+                this.editing = new IdentityHashMap<>();
+                for (int i = 0; i < this.lines.size(); i++)
+                    this.editing.put(this.lines.get(i), this.calculateLocation(i));
+            }
+        }
+
+        PacketHandler.batch(() -> {
+            try {
+                editor.accept(this);
+            } finally {
+                synchronized (this) {
+                    if (--this.edits == 0)
+                        this.commit();
+                }
+            }
+        });
         return this;
     }
 
@@ -444,7 +821,10 @@ public Hologram setLocation(@Nonnull Location location) {
     @Nonnull
     public Hologram removeLine(int index) {
         HologramLine line = this.lines.remove(index);
-        line.hide(this.renderer.getShownPlayers());
+        HologramHandler.unindexLine(line);
+        this.removeProvider(line);
+        if (this.edits == 0)
+            line.hide(this.renderer.getShownPlayers());
         return this.setLocation(this.getLocation());
     }
 
@@ -457,8 +837,7 @@ public Hologram removeLine(int index) {
     @Nonnull
     public Hologram removeLines(@Nonnull Collection<Integer> indexes) {
         Validate.notNull(indexes, "indexes cannot be null!");
-        indexes.forEach(this::removeLine);
-        return this;
+        return this.edit(hologram -> indexes.forEach(hologram::removeLine));
     }
 
     /**
@@ -469,9 +848,10 @@ public Hologram removeLines(@Nonnull Collection<Integer> indexes) {
      */
     @Nonnull
     public Hologram removeLines(int... indexes) {
-        for (int index : indexes)
-            this.removeLine(index);
-        return this;
+        return this.edit(hologram -> {
+            for (int index : indexes)
+                hologram.removeLine(index);
+        });
     }
 
     /**
@@ -481,9 +861,10 @@ public Hologram removeLines(int... indexes) {
      */
     @Nonnull
     public Hologram clearLines() {
-        for (int i = this.lines.size() - 1; i >= 0; i--)
-            this.removeLine(i);
-        return this;
+        return this.edit(hologram -> {
+            for (int i = hologram.lines.size() - 1; i >= 0; i--)
+                hologram.removeLine(i);
+        });
     }
 
     /**
@@ -506,8 +887,7 @@ public <T> Hologram addLine(@Nullable T value) {
     @Nonnull
     public <T> Hologram addLines(@Nonnull T... lines) {
         Validate.notNull(lines, "lines cannot be null!");
-        Arrays.asList(lines).forEach(this::addLine);
-        return this;
+        return this.edit(hologram -> Arrays.asList(lines).forEach(hologram::addLine));
     }
 
     /**
@@ -519,8 +899,7 @@ public <T> Hologram addLines(@Nonnull T... lines) {
     @Nonnull
     public <T> Hologram addLines(@Nonnull Collection<T> lines) {
         Validate.notNull(lines, "lines cannot be null!");
-        lines.forEach(this::addLine);
-        return this;
+        return this.edit(hologram -> lines.forEach(hologram::addLine));
     }
 
     /**
@@ -536,7 +915,9 @@ public <T> Hologram insertLine(int index, @Nullable T value) {
             HologramLine line = (HologramLine) value;
 
             this.lines.add(index, line);
-            line.show(this.renderer.getShownPlayers());
+            HologramHandler.indexLine(line);
+            if (this.edits == 0)
+                line.show(this.renderer.getShownPlayers());
             this.setLocation(this.getLocation());
         } else if (value instanceof String || value instanceof ItemStack || value == null) {
             Location location = this.calculateLocation(this.lines.size());
@@ -571,24 +952,14 @@ public <T> Hologram setLines(@Nonnull T... lines) {
         Validate.notNull(lines, "lines cannot be null!");
         Validate.isTrue(lines.length == 0, "lines cannot be empty!");
 
-        if (lines.length == this.lines.size()) {
-            for (int i = 0; i < lines.length; i++)
-                this.setLine(i, lines[i]);
-        } else if (lines.length > this.lines.size()) {
-            for (int i = 0; i < this.lines.size(); i++)
-                this.setLine(i, lines[i]);
-            for (int i = this.lines.size(); i < lines.length; i++)
-                this.addLine(lines[i]);
-            this.setLocation(this.getLocation());
-        } else {
-            for (int i = this.lines.size() - 1; i >= lines.length; i--)
-                this.removeLine(i);
-            for (int i = 0; i < lines.length; i++)
-                this.setLine(i, lines[i]);
-            this.setLocation(this.getLocation());
-        }
-
-        return this;
+        return this.edit(hologram -> {
+            for (int i = hologram.lines.size() - 1; i >= lines.length; i--)
+                hologram.removeLine(i);
+            for (int i = 0; i < hologram.lines.size(); i++)
+                hologram.setLine(i, lines[i]);
+            for (int i = hologram.lines.size(); i < lines.length; i++)
+                hologram.addLine(lines[i]);
+        });
     }
 
     /**
@@ -603,14 +974,20 @@ public <T> Hologram setLine(int index, @Nullable T value) {
         if (value instanceof HologramLine) {
             HologramLine line = (HologramLine) value;
             HologramLine old = this.lines.set(index, line);
-            old.hide(this.renderer.getShownPlayers());
-            line.show(this.renderer.getShownPlayers());
+            HologramHandler.unindexLine(old);
+            HologramHandler.indexLine(line);
+            this.removeProvider(old);
+            if (this.edits == 0) {
+                old.hide(this.renderer.getShownPlayers());
+                line.show(this.renderer.getShownPlayers());
+            }
 
             this.setLocation(this.getLocation());
         } else if (value instanceof String) {
             HologramLine old = this.lines.get(index);
             if (old instanceof TextLine) {
                 TextLine textLine = (TextLine) old;
+                this.removeProvider(textLine);
                 textLine.setText((String) value);
             } else {
                 Location location = this.calculateLocation(index);
@@ -620,6 +997,7 @@ public <T> Hologram setLine(int index, @Nullable T value) {
             HologramLine old = this.lines.get(index);
             if (old instanceof ItemLine) {
                 ItemLine itemLine = (ItemLine) old;
+                this.removeProvider(itemLine);
                 itemLine.setItem((ItemStack) value);
             } else {
                 Location location = this.calculateLocation(index);
@@ -645,6 +1023,12 @@ public Hologram delete() {
             HologramHandler.getContent().remove(this.id);
             this.action.onDelete();
             this.renderer.delete();
+            this.lines.forEach(HologramHandler::unindexLine);
+            if (this.hitbox != null)
+                HologramHandler.unindexHitbox(this.hitbox);
+            this.providers.clear();
+            this.texts.clear();
+            this.animations.clear();
             this.lines.clear();
         }
         return this;
@@ -652,6 +1036,119 @@ public Hologram delete() {
 
 
 
+    /**
+     * Shows hologram to the players. While the
+     * hologram is edited, players are deferred
+     * and shown once the edit is committed, so
+     * staged lines are never sent to them.
+     *
+     * @param players Players.
+     */
+    private synchronized void show(@Nonnull List<Player> players) {
+        if (this.edits > 0) {
+            players.forEach(player -> this.deferred.put(player.getUniqueId(), player));
+            return;
+        }
+
+        this.lines.forEach(line -> line.show(players));
+        if (this.hitbox != null)
+            this.hitbox.show(players);
+        players.forEach(player -> this.stale.remove(player.getUniqueId()));
+        this.sendTexts(players);
+        this.sendFrames(players);
+    }
+
+    /**
+     * Hides hologram from the players. While the
+     * hologram is edited, lines which players
+     * have are the lines before the edit.
+     *
+     * @param players Players.
+     */
+    private synchronized void hide(@Nonnull List<Player> players) {
+        List<Player> shown = new ArrayList<>(players);
+        shown.removeIf(player -> this.deferred.remove(player.getUniqueId()) != null);
+
+        Collection<HologramLine> lines = (this.edits > 0) ? this.editing.keySet() : this.lines;
+        lines.forEach(line -> line.hide(shown));
+        if (this.hitbox != null)
+            this.hitbox.hide(shown);
+    }
+
+    /**
+     * Removes state of the viewers who left
+     * the hologram. It is called by UID, so
+     * players who quit are removed too.
+     *
+     * @param uids UIDs of viewers.
+     */
+    private synchronized void forget(@Nonnull List<UUID> uids) {
+        for (UUID uid : uids) {
+            this.stale.remove(uid);
+            this.deferred.remove(uid);
+            this.texts.values().forEach(texts -> texts.remove(uid));
+        }
+    }
+
+    /**
+     * Commits staged changes of the edit. Lines
+     * which are removed are hidden, lines which
+     * are moved are teleported and lines which
+     * are added are moved to their final location
+     * without a teleport, then shown. Players who
+     * are deferred during the edit are shown the
+     * whole hologram.
+     */
+    private void commit() {
+        Map<HologramLine, Location> editing = this.editing;
+        this.editing = null;
+
+        List<Player> players = this.renderer.getShownPlayers();
+        players.removeIf(player -> this.deferred.containsKey(player.getUniqueId()));
+
+        Set<HologramLine> lines = Collections.newSetFromMap(new IdentityHashMap<>());
+        lines.addAll(this.lines);
+        editing.keySet().stream().filter(line -> !lines.contains(line))
+                .forEach(line -> line.hide(players));
+
+        for (int i = 0; i < this.lines.size(); i++) {
+            HologramLine line = this.lines.get(i);
+            Location location = this.calculateLocation(i);
+            if (!editing.containsKey(line)) {
+                line.setLocation(location, Collections.emptyList());
+                line.show(players);
+            } else if (!location.equals(editing.get(line))) {
+                line.setLocation(location, players);
+            }
+        }
+        this.updateHitbox();
+
+        if (!this.deferred.isEmpty()) {
+            Set<UUID> shownViewers = this.renderer.getShownViewers();
+            List<Player> deferred = new ArrayList<>();
+            this.deferred.forEach((uid, player) -> {
+                if (shownViewers.contains(uid))
+                    deferred.add(player);
+            });
+            this.deferred.clear();
+            this.show(deferred);
+        }
+    }
+
+    /**
+     * Fits hitbox to the lines. The hitbox
+     * spans the same area the clicked line is
+     * resolved from.
+     */
+    private void updateHitbox() {
+        if (this.hitbox == null)
+            return;
+
+        int size = Math.max(1, this.lines.size());
+        double top = ((size - 1) * this.lineDistance + 0.24) / 2.0;
+        this.hitbox.setBounds(this.getLocation().add(0, top - size * this.lineDistance, 0), 1.2, size * this.lineDistance);
+    }
+
     /**
      * Calculates hologram line location by index.
      *
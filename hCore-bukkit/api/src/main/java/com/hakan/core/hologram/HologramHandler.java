@@ -2,13 +2,25 @@
 
 import com.hakan.core.HCore;
 import com.hakan.core.hologram.builder.HologramBuilder;
+import com.hakan.core.hologram.hitbox.HologramHitbox;
+import com.hakan.core.hologram.line.HologramLine;
 import com.hakan.core.hologram.listeners.HologramClickListener;
+import com.hakan.core.packet.bus.PacketBus;
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.protocol.ProtocolVersion;
+import com.hakan.core.renderer.Renderer;
+import com.hakan.core.renderer.RendererGrid;
+import com.hakan.core.renderer.RendererHandler;
 import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.IntRegistry;
+import com.hakan.core.utils.registry.Registry;
+import org.bukkit.Location;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,15 +30,55 @@
  */
 public final class HologramHandler {
 
-    private static final Map<String, Hologram> holograms = new HashMap<>();
+    private static final Registry<String, Hologram> holograms = new Registry<>();
+    private static final IntRegistry<HologramLine> lines = new IntRegistry<>();
+    private static final IntRegistry<Hologram> hitboxes = new IntRegistry<>();
+    private static volatile boolean displayEntities;
 
     /**
      * Initializes holograms.
      */
     public static void initialize() {
-        HCore.asyncScheduler().every(10)
-                .run(() -> HologramHandler.getValues().forEach(hologram -> hologram.getRenderer().render()));
-        HCore.registerListeners(new HologramClickListener());
+        displayEntities = HCore.getProtocolVersion().isNewerOrEqual(ProtocolVersion.v1_19_R3);
+        HCore.asyncScheduler().every(1)
+                .run((task, count) -> {
+                    if (count % RendererHandler.getSweepInterval() == 0)
+                        RendererHandler.render(HologramHandler.getValues(), Hologram::getRenderer);
+                    HologramHandler.getValues().forEach(hologram -> {
+                        hologram.refresh(count);
+                        hologram.updateTexts(count);
+                        hologram.animate(count);
+                    });
+                });
+        PacketBus.subscribe("PacketPlayInUseEntity", PacketEvent.Type.READ,
+                new HologramClickListener()::onPacketEvent);
+    }
+
+    /**
+     * Checks new holograms use display
+     * entities. It is enabled by default
+     * on 1.19.4 and newer versions.
+     *
+     * @return If new holograms use display entities, returns true.
+     */
+    public static boolean isDisplayEntities() {
+        return displayEntities;
+    }
+
+    /**
+     * Sets new holograms use display entities.
+     * Text lines are sent as a single text display
+     * instead of two armor stands, and
+     * clicks are caught by one interaction entity
+     * per hologram. Existing holograms are
+     * not affected.
+     *
+     * @param displayEntities Display entities mode.
+     */
+    public static void setDisplayEntities(boolean displayEntities) {
+        Validate.isTrue(displayEntities && HCore.getProtocolVersion().isOlder(ProtocolVersion.v1_19_R3),
+                "display entities require 1.19.4 or newer!");
+        HologramHandler.displayEntities = displayEntities;
     }
 
     /**
@@ -79,6 +131,25 @@ public static boolean has(@Nonnull String id) {
         return holograms.containsKey(Validate.notNull(id, "id cannot be null!"));
     }
 
+    /**
+     * Gets holograms around the location
+     * in the radius. It uses the renderer
+     * grid, so only holograms in the chunks
+     * around the location are checked.
+     *
+     * @param location Location.
+     * @param radius   Radius.
+     * @return Holograms.
+     */
+    @Nonnull
+    public static List<Hologram> getNearby(@Nonnull Location location, double radius) {
+        List<Hologram> nearby = new ArrayList<>();
+        for (Renderer renderer : RendererGrid.getNearby(location, radius))
+            if (renderer.getOwner() instanceof Hologram)
+                nearby.add((Hologram) renderer.getOwner());
+        return nearby;
+    }
+
     /**
      * Finds a created hologram.
      *
@@ -90,6 +161,33 @@ public static Optional<Hologram> findByID(@Nonnull String id) {
         return Optional.ofNullable(holograms.get(Validate.notNull(id, "id cannot be null!")));
     }
 
+    /**
+     * Finds a hologram line by entity id.
+     *
+     * @param entityID Entity id.
+     * @return Hologram line as optional.
+     */
+    @Nonnull
+    public static Optional<HologramLine> findLineByEntityID(int entityID) {
+        return Optional.ofNullable(lines.get(entityID));
+    }
+
+    /**
+     * Finds a created hologram by entity
+     * id of one of its lines or its hitbox.
+     *
+     * @param entityID Entity id.
+     * @return Hologram as optional.
+     */
+    @Nonnull
+    public static Optional<Hologram> findByEntityID(int entityID) {
+        HologramLine line = lines.get(entityID);
+        Hologram hologram = (line != null) ? line.getHologram() : hitboxes.get(entityID);
+        if (hologram == null || !hologram.isExist())
+            return Optional.empty();
+        return Optional.of(hologram);
+    }
+
     /**
      * Gets a created hologram.
      *
@@ -111,4 +209,45 @@ public static Hologram getByID(@Nonnull String id) {
     public static HologramBuilder builder(@Nonnull String id) {
         return new HologramBuilder(id);
     }
+
+
+    /**
+     * Indexes the line by its entity id.
+     *
+     * @param line Hologram line.
+     */
+    static void indexLine(@Nonnull HologramLine line) {
+        if (line.getEntityID() >= 0)
+            lines.put(line.getEntityID(), line);
+    }
+
+    /**
+     * Removes the line from entity id index.
+     *
+     * @param line Hologram line.
+     */
+    static void unindexLine(@Nonnull HologramLine line) {
+        if (line.getEntityID() >= 0)
+            lines.remove(line.getEntityID(), line);
+    }
+
+    /**
+     * Indexes the hologram by entity
+     * id of its hitbox.
+     *
+     * @param hitbox Hologram hitbox.
+     */
+    static void indexHitbox(@Nonnull HologramHitbox hitbox) {
+        hitboxes.put(hitbox.getEntityID(), hitbox.getHologram());
+    }
+
+    /**
+     * Removes the hologram from entity
+     * id index of hitboxes.
+     *
+     * @param hitbox Hologram hitbox.
+     */
+    static void unindexHitbox(@Nonnull HologramHitbox hitbox) {
+        hitboxes.remove(hitbox.getEntityID(), hitbox.getHologram());
+    }
 }
@@ -0,0 +1,168 @@
+package com.hakan.core.hologram.animation;
+
+import com.hakan.core.utils.Validate;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hologram animation class. It is an
+ * immutable sequence of frames which are
+ * computed once, so the same animation can
+ * be shared by any number of lines.
+ */
+@SuppressWarnings({"unused", "unchecked"})
+public final class HologramAnimation {
+
+    /**
+     * Creates text animation.
+     *
+     * @param interval Ticks between two frames.
+     * @param frames   Text frames.
+     * @return Hologram animation.
+     */
+    @Nonnull
+    public static HologramAnimation of(int interval, @Nonnull String... frames) {
+        Validate.notNull(frames, "frames cannot be null!");
+        return new HologramAnimation(Arrays.asList(frames), interval);
+    }
+
+    /**
+     * Creates item animation.
+     *
+     * @param interval Ticks between two frames.
+     * @param frames   Item frames.
+     * @return Hologram animation.
+     */
+    @Nonnull
+    public static HologramAnimation of(int interval, @Nonnull ItemStack... frames) {
+        Validate.notNull(frames, "frames cannot be null!");
+        return new HologramAnimation(Arrays.asList(frames), interval);
+    }
+
+    /**
+     * Creates scrolling text animation. Text
+     * moves to the left by one character in
+     * each frame in a window of given width.
+     *
+     * @param text     Text to scroll.
+     * @param width    Width of window.
+     * @param interval Ticks between two frames.
+     * @return Hologram animation.
+     */
+    @Nonnull
+    public static HologramAnimation scroll(@Nonnull String text, int width, int interval) {
+        Validate.notNull(text, "text cannot be null!");
+        Validate.isTrue(text.isEmpty(), "text cannot be empty!");
+        Validate.isTrue(width <= 0, "width must be positive!");
+
+        StringBuilder builder = new StringBuilder(text);
+        while (builder.length() < text.length() + width)
+            builder.append(' ');
+        String loop = builder.toString() + builder;
+
+        List<String> frames = new ArrayList<>();
+        for (int i = 0; i < builder.length(); i++)
+            frames.add(loop.substring(i, i + width));
+        return new HologramAnimation(frames, interval);
+    }
+
+
+    private final List<Object> frames;
+    private final int interval;
+    private final boolean text;
+
+    /**
+     * Creates new instance of this class.
+     * Frames must be all texts or all items.
+     *
+     * @param frames   Frames.
+     * @param interval Ticks between two frames.
+     */
+    public HologramAnimation(@Nonnull List<?> frames, int interval) {
+        Validate.notNull(frames, "frames cannot be null!");
+        Validate.isTrue(frames.isEmpty(), "frames cannot be empty!");
+        Validate.isTrue(interval <= 0, "interval must be positive!");
+
+        this.text = frames.get(0) instanceof String;
+        this.interval = interval;
+
+        List<Object> copy = new ArrayList<>(frames.size());
+        for (Object frame : frames) {
+            Validate.isTrue(this.text ? !(frame instanceof String) : !(frame instanceof ItemStack),
+                    "frames must be all texts or all items!");
+            copy.add(this.text ? frame : ((ItemStack) frame).clone());
+        }
+        this.frames = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Gets frames.
+     *
+     * @return Frames.
+     */
+    @Nonnull
+    public List<Object> getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * Gets ticks between two frames.
+     *
+     * @return Interval in ticks.
+     */
+    public int getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Checks frames are texts.
+     *
+     * @return If frames are texts, returns true.
+     */
+    public boolean isText() {
+        return this.text;
+    }
+
+    /**
+     * Gets index of the frame
+     * which is shown at the tick.
+     *
+     * @param tick Tick.
+     * @return Index of frame.
+     */
+    public int getFrameIndex(long tick) {
+        return (int) ((tick / this.interval) % this.frames.size());
+    }
+
+    /**
+     * Gets frame which is
+     * shown at the tick.
+     *
+     * @param tick Tick.
+     * @param <T>  Type of frame.
+     * @return Frame.
+     */
+    @Nonnull
+    public <T> T getFrame(long tick) {
+        return (T) this.frames.get(this.getFrameIndex(tick));
+    }
+
+    /**
+     * Checks frame at the tick is different
+     * from the frame a period ago. It is
+     * used to send a frame to the viewers
+     * of a tier once it changes for them.
+     *
+     * @param tick   Tick.
+     * @param period Period in ticks.
+     * @return If frame is changed, returns true.
+     */
+    public boolean isChanged(long tick, int period) {
+        return tick < period || this.getFrameIndex(tick) != this.getFrameIndex(tick - period);
+    }
+}
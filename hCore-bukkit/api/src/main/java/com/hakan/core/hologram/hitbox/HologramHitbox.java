@@ -0,0 +1,77 @@
+package com.hakan.core.hologram.hitbox;
+
+import com.hakan.core.hologram.Hologram;
+import com.hakan.core.utils.ReflectionUtils;
+import com.hakan.core.utils.Validate;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Hologram hitbox class. It is a single
+ * interaction entity covering all lines
+ * of a hologram which uses display entities,
+ * so clicks can be caught without an armor
+ * stand for each line.
+ */
+public interface HologramHitbox {
+
+    /**
+     * Creates new hologram hitbox.
+     *
+     * @param hologram Hologram of hitbox.
+     * @param location Location of hitbox.
+     * @return Hologram hitbox.
+     */
+    @Nonnull
+    static HologramHitbox create(@Nonnull Hologram hologram,
+                                 @Nonnull Location location) {
+        Validate.notNull(hologram, "hologram cannot be null!");
+        Validate.notNull(location, "location cannot be null!");
+
+        return ReflectionUtils.newInstance("com.hakan.core.hologram.hitbox.HologramHitbox_%s",
+                new Class[]{Hologram.class, Location.class}, new Object[]{hologram, location});
+    }
+
+
+    /**
+     * Gets parent class of hitbox.
+     *
+     * @return Parent class of hitbox.
+     */
+    @Nonnull
+    Hologram getHologram();
+
+    /**
+     * Gets entity id of hitbox.
+     *
+     * @return Entity id of hitbox.
+     */
+    int getEntityID();
+
+    /**
+     * Sets bounds of hitbox. Location is
+     * the bottom center of the hitbox.
+     *
+     * @param location Bottom center location.
+     * @param width    Width.
+     * @param height   Height.
+     */
+    void setBounds(@Nonnull Location location, double width, double height);
+
+    /**
+     * Shows hitbox to player list.
+     *
+     * @param players Player list.
+     */
+    void show(@Nonnull List<Player> players);
+
+    /**
+     * Hides hitbox from player list.
+     *
+     * @param players Player list.
+     */
+    void hide(@Nonnull List<Player> players);
+}
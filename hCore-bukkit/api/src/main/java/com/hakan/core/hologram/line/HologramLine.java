@@ -11,6 +11,7 @@
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -57,7 +58,7 @@ static HologramLine create(@Nonnull Hologram hologram,
         Validate.notNull(location, "location cannot be null!");
 
         HologramLine line = HologramLine.create(hologram, object);
-        line.setLocation(location);
+        line.setLocation(location, Collections.emptyList());
 
         return line;
     }
@@ -91,7 +92,20 @@ static HologramLine create(@Nonnull Hologram hologram,
      *
      * @param location location of line.
      */
-    void setLocation(@Nonnull Location location);
+    default void setLocation(@Nonnull Location location) {
+        this.setLocation(location, this.getHologram().getRenderer().getShownPlayers());
+    }
+
+    /**
+     * Sets location of line and sends
+     * the teleport only to the players.
+     * Lines which are not shown yet are
+     * moved with an empty list.
+     *
+     * @param location location of line.
+     * @param players  Players to send teleport.
+     */
+    void setLocation(@Nonnull Location location, @Nonnull List<Player> players);
 
     /**
      * Sets marker of line.
@@ -74,7 +74,7 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         this.location = location;
     }
 
@@ -8,6 +8,7 @@
 import org.bukkit.inventory.ItemStack;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
 
 /**
  * Item line class.
@@ -45,7 +46,7 @@ static ItemLine create(@Nonnull Hologram hologram,
 
         ItemLine line = ReflectionUtils.newInstance("com.hakan.core.hologram.line.item.ItemLine_%s",
                 new Class[]{Hologram.class, Location.class}, new Object[]{hologram, location});
-        line.setLocation(location);
+        line.setLocation(location, Collections.emptyList());
         line.setItem(itemStack);
 
         return line;
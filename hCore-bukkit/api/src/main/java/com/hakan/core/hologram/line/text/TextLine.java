@@ -5,8 +5,11 @@
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Text line class.
@@ -42,9 +45,12 @@ static TextLine create(@Nonnull Hologram hologram,
         Validate.notNull(location, "location cannot be null!");
         Validate.notNull(text, "text cannot be null!");
 
-        TextLine line = ReflectionUtils.newInstance("com.hakan.core.hologram.line.text.TextLine_%s",
+        String path = hologram.isDisplayEntities() ?
+                "com.hakan.core.hologram.line.text.TextDisplayLine_%s" :
+                "com.hakan.core.hologram.line.text.TextLine_%s";
+        TextLine line = ReflectionUtils.newInstance(path,
                 new Class[]{Hologram.class, Location.class}, new Object[]{hologram, location});
-        line.setLocation(location);
+        line.setLocation(location, Collections.emptyList());
         line.setText(text);
 
         return line;
@@ -65,4 +71,13 @@ static TextLine create(@Nonnull Hologram hologram,
      * @param text text of line.
      */
     void setText(@Nonnull String text);
+
+    /**
+     * Sends the text to the players
+     * without changing text of line.
+     *
+     * @param players Players.
+     * @param text    Text to send.
+     */
+    void sendText(@Nonnull List<Player> players, @Nonnull String text);
 }
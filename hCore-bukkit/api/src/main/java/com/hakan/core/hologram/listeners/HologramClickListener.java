@@ -1,60 +1,68 @@
 package com.hakan.core.hologram.listeners;
 
-import com.hakan.core.HCore;
 import com.hakan.core.hologram.Hologram;
 import com.hakan.core.hologram.HologramHandler;
+import com.hakan.core.packet.bus.PacketExecutor;
 import com.hakan.core.packet.event.PacketEvent;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 
 import javax.annotation.Nonnull;
+import java.util.Optional;
 
 /**
  * HologramClickListener class to listen
  * the hologram clicks.
  */
-public final class HologramClickListener implements Listener {
+public final class HologramClickListener {
 
     /**
-     * Called when a packet is received.
+     * Called when a use entity packet is received.
+     * Hologram is resolved by entity id on the
+     * netty thread, and only clicks on holograms
+     * are handed off the netty thread.
      *
      * @param event PacketEvent.
      */
-    @EventHandler
     public void onPacketEvent(@Nonnull PacketEvent event) {
-        Player player = event.getPlayer();
-        Object packet = event.getPacket();
+        int entityID = event.getValue("a");
 
-        if (!packet.getClass().getName().contains("PacketPlayInUseEntity"))
+        Optional<Hologram> optional = HologramHandler.findByEntityID(entityID);
+        if (!optional.isPresent())
             return;
 
-        HCore.asyncScheduler().run(() -> {
-            for (Hologram hologram : HologramHandler.getValues()) {
-                if (hologram.hasLineByEntityID(event.getValue("a"))) {
-                    Location playerLocation = player.getEyeLocation();
-                    Location hologramLocation = hologram.getLocation();
+        Player player = event.getPlayer();
+        Hologram hologram = optional.get();
+        PacketExecutor.execute(player.getUniqueId(), () -> this.onClick(player, hologram));
+    }
+
+    /**
+     * Resolves clicked line from eye
+     * location of player and calls
+     * click action of hologram.
+     *
+     * @param player   Player.
+     * @param hologram Hologram.
+     */
+    private void onClick(@Nonnull Player player, @Nonnull Hologram hologram) {
+        Location playerLocation = player.getEyeLocation();
+        Location hologramLocation = hologram.getLocation();
 
-                    double xP = playerLocation.getX();
-                    double zP = playerLocation.getZ();
-                    double xH = hologramLocation.getX();
-                    double zH = hologramLocation.getZ();
-                    double distance = Math.sqrt(Math.pow(xP - xH, 2) + Math.pow(zP - zH, 2));
+        double xP = playerLocation.getX();
+        double zP = playerLocation.getZ();
+        double xH = hologramLocation.getX();
+        double zH = hologramLocation.getZ();
+        double distance = Math.sqrt(Math.pow(xP - xH, 2) + Math.pow(zP - zH, 2));
 
-                    float pitch = -playerLocation.getPitch();
+        float pitch = -playerLocation.getPitch();
 
-                    double y1 = hologramLocation.getY() + ((hologram.getLines().size() - 1) * hologram.getLineDistance() + 0.24) / 2.0;
-                    double y2 = playerLocation.getY() + distance * Math.tan(Math.toRadians(pitch));
+        double y1 = hologramLocation.getY() + ((hologram.getLines().size() - 1) * hologram.getLineDistance() + 0.24) / 2.0;
+        double y2 = playerLocation.getY() + distance * Math.tan(Math.toRadians(pitch));
 
-                    int index = (int) Math.floor((y1 - y2) / hologram.getLineDistance());
-                    if (index < 0 || index >= hologram.getLines().size())
-                        break;
+        int index = (int) Math.floor((y1 - y2) / hologram.getLineDistance());
+        if (index < 0 || index >= hologram.getLines().size())
+            return;
 
-                    hologram.getAction().onClick(event.getPlayer(), hologram.getLine(index));
-                    return;
-                }
-            }
-        });
+        hologram.getAction().onClick(player, hologram.getLine(index));
     }
 }
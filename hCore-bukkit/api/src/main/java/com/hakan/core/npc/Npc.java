@@ -67,9 +67,11 @@ public Npc(@Nonnull String id,
 
         this.renderer = new Renderer(location, 30, viewers,
                 this::show, this::hide, renderer -> this.hide(renderer.getShownPlayers()));
+        this.renderer.setOwner(this);
         this.hologram = HCore.hologramBuilder("hcore_npc_hologram:" + id)
                 .location(location).setViewers(viewers)
                 .showEveryone(showEveryone).forceBuild();
+        this.hologram.getRenderer().setParent(this.renderer);
 
         this.action = new NpcAction(this);
         this.id = Validate.notNull(id, "id cannot be null!");
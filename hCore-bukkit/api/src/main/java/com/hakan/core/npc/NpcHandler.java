@@ -4,8 +4,16 @@
 import com.hakan.core.npc.builder.NpcBuilder;
 import com.hakan.core.npc.listener.NpcClickListener;
 import com.hakan.core.npc.utils.NpcUtils;
+import com.hakan.core.packet.bus.PacketBus;
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.renderer.PlayerSnapshot;
+import com.hakan.core.renderer.Renderer;
+import com.hakan.core.renderer.RendererGrid;
+import com.hakan.core.renderer.RendererHandler;
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.Registry;
+import com.hakan.core.utils.registry.RegistryIndex;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
@@ -16,6 +24,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,7 +34,8 @@
  */
 public final class NpcHandler {
 
-    private static final Map<String, Npc> npcList = new HashMap<>();
+    private static final Registry<String, Npc> npcList = new Registry<>();
+    private static final RegistryIndex<Integer, Npc> entityIndex = npcList.index(Npc::getEntityID);
 
     /**
      * Initializes the NPC system.
@@ -36,31 +46,39 @@ public static void initialize() {
                 .filter(entity -> entity.getHealth() == 2.5179998874664307f)
                 .forEach(Entity::remove));
 
-        HCore.asyncScheduler().every(10)
+        HCore.asyncScheduler().every(1)
                 .freezeIf((task) -> npcList.isEmpty())
-                .run(() -> npcList.values().forEach(npc -> npc.getRenderer().render()));
+                .run((task, count) -> {
+                    if (count % RendererHandler.getSweepInterval() == 0)
+                        RendererHandler.render(npcList.values(), Npc::getRenderer);
+                });
 
         HCore.asyncScheduler().every(1)
                 .freezeIf((task) -> npcList.isEmpty())
                 .freezeIf((task) -> Bukkit.getOnlinePlayers().isEmpty())
-                .run(() -> npcList.values().forEach(npc -> {
+                .run((task, count) -> npcList.values().forEach(npc -> {
                     if (npc.getLookTarget().equals(Npc.LookTarget.NEAREST)) {
                         Player nearestPlayer = NpcUtils.getNearestPlayer(npc);
                         if (nearestPlayer != null) npc.lookAt(nearestPlayer);
                     } else if (npc.getLookTarget().equals(Npc.LookTarget.INDIVIDUAL)) {
-                        npc.getRenderer().getShownPlayers().forEach(player -> {
-                            Location targetLocation = player.getEyeLocation();
+                        PlayerSnapshot snapshot = PlayerSnapshot.current();
+                        npc.getRenderer().getShownViewers().forEach(uid -> {
+                            int index = snapshot.indexOf(uid);
+                            if (index == -1 || !npc.getRenderer().getTier(snapshot, index).shouldUpdate(count))
+                                return;
+
+                            Location targetLocation = snapshot.getEyeLocation(index);
                             Location npcLocation = npc.getLocation().add(0, 1.62, 0);
                             Location teleportLocation = NpcUtils.calculateVectorAsLocation(npcLocation, targetLocation);
 
                             npc.getRenderer().setLocation(teleportLocation.subtract(0, 1.62, 0));
-                            npc.getEntity().updateHeadRotation(Collections.singletonList(player));
+                            npc.getEntity().updateHeadRotation(Collections.singletonList(snapshot.getPlayer(index)));
                         });
                     }
                 }));
 
         NpcClickListener clickListener = ReflectionUtils.newInstance("com.hakan.core.npc.listener.NpcClickListener_%s");
-        HCore.registerListeners(clickListener);
+        PacketBus.subscribe("PacketPlayInUseEntity", PacketEvent.Type.READ, clickListener::onPacketEvent);
     }
 
     /**
@@ -113,6 +131,25 @@ public static boolean has(@Nonnull String id) {
         return npcList.containsKey(Validate.notNull(id, "id cannot be null!"));
     }
 
+    /**
+     * Gets npcs around the location
+     * in the radius. It uses the renderer
+     * grid, so only npcs in the chunks
+     * around the location are checked.
+     *
+     * @param location Location.
+     * @param radius   Radius.
+     * @return Npcs.
+     */
+    @Nonnull
+    public static List<Npc> getNearby(@Nonnull Location location, double radius) {
+        List<Npc> nearby = new ArrayList<>();
+        for (Renderer renderer : RendererGrid.getNearby(location, radius))
+            if (renderer.getOwner() instanceof Npc)
+                nearby.add((Npc) renderer.getOwner());
+        return nearby;
+    }
+
     /**
      * Finds a created npc.
      *
@@ -143,10 +180,7 @@ public static Npc getByID(@Nonnull String id) {
      */
     @Nonnull
     public static Optional<Npc> findByEntityID(int id) {
-        for (Npc npc : npcList.values())
-            if (npc.getEntityID() == id)
-                return Optional.of(npc);
-        return Optional.empty();
+        return entityIndex.find(id);
     }
 
     /**
@@ -2,8 +2,6 @@
 
 import com.hakan.core.packet.event.PacketEvent;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 
 import javax.annotation.Nonnull;
 
@@ -11,20 +9,14 @@
  * NpcClickListener class to listen
  * all click actions of npc by players.
  */
-public abstract class NpcClickListener implements Listener {
+public abstract class NpcClickListener {
 
     /**
-     * This will run every packet event.
+     * This will run every use entity packet.
      *
      * @param event PacketEvent.
      */
-    @EventHandler
     public final void onPacketEvent(@Nonnull PacketEvent event) {
-        if (!event.getType().equals(PacketEvent.Type.READ))
-            return;
-        else if (!event.getPacket().getClass().getName().contains("PacketPlayInUseEntity"))
-            return;
-
         this.onEntityInteractEvent(event, event.getPlayer());
     }
 
@@ -2,6 +2,7 @@
 
 import com.hakan.core.npc.Npc;
 import com.hakan.core.npc.entity.NpcEntity;
+import com.hakan.core.renderer.PlayerSnapshot;
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
 import org.bukkit.Location;
@@ -9,6 +10,7 @@
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.UUID;
 
 /**
  * NpcUtils class to
@@ -31,7 +33,8 @@ public static NpcEntity createEntity(@Nonnull Npc npc) {
 
     /**
      * Gets the nearest
-     * player to npc.
+     * player to npc from
+     * the player snapshot.
      *
      * @param npc Npc instance.
      * @return The nearest player.
@@ -40,14 +43,20 @@ public static NpcEntity createEntity(@Nonnull Npc npc) {
     public static Player getNearestPlayer(@Nonnull Npc npc) {
         Validate.notNull(npc, "npc cannot be null!");
 
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        Location location = npc.getLocation();
         Player nearestPlayer = null;
 
         double distance = Double.MAX_VALUE;
-        for (Player player : npc.getRenderer().getShownPlayers()) {
-            double currentDistance = player.getLocation().distance(npc.getLocation());
-            if (currentDistance < distance) {
+        for (UUID uid : npc.getRenderer().getShownViewers()) {
+            int index = snapshot.indexOf(uid);
+            if (index == -1)
+                continue;
+
+            double currentDistance = snapshot.distance(index, location, true);
+            if (currentDistance != -1 && currentDistance < distance) {
                 distance = currentDistance;
-                nearestPlayer = player;
+                nearestPlayer = snapshot.getPlayer(index);
             }
         }
         return nearestPlayer;
@@ -0,0 +1,47 @@
+package com.hakan.core.packet;
+
+import com.hakan.core.packet.player.PacketPlayer;
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PacketBatch class to track packet players
+ * which queued packets in a batch scope, so
+ * only they are flushed when it ends. Worker
+ * threads can join the scope of the thread
+ * which opened it.
+ */
+public final class PacketBatch {
+
+    private final Set<PacketPlayer> players;
+
+    /**
+     * Creates new instance of this class.
+     */
+    PacketBatch() {
+        this.players = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Adds packet player which
+     * queued packets in the batch.
+     *
+     * @param packetPlayer Packet player.
+     */
+    public void add(@Nonnull PacketPlayer packetPlayer) {
+        this.players.add(Validate.notNull(packetPlayer, "packet player cannot be null!"));
+    }
+
+    /**
+     * Flushes queued packets of packet
+     * players which queued in the batch.
+     */
+    void flush() {
+        for (PacketPlayer packetPlayer : this.players)
+            packetPlayer.flush();
+        this.players.clear();
+    }
+}
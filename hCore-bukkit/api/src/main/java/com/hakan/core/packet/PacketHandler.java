@@ -1,38 +1,445 @@
 package com.hakan.core.packet;
 
 import com.hakan.core.HCore;
+import com.hakan.core.packet.bundle.PacketBundler;
+import com.hakan.core.packet.bundle.versions.PacketBundlerEmpty;
+import com.hakan.core.packet.bus.PacketBus;
+import com.hakan.core.packet.bus.PacketExecutor;
+import com.hakan.core.packet.capture.PacketCapture;
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.packet.player.EncodedPacket;
 import com.hakan.core.packet.player.PacketPlayer;
+import com.hakan.core.protocol.ProtocolVersion;
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.Registry;
+import com.hakan.core.utils.registry.RegistryIndex;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.util.AttributeKey;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * PacketHandler class.
  */
 public final class PacketHandler {
 
-    private static final Map<Player, PacketPlayer> packetPlayers = new HashMap<>();
+    private static final String[] TRANSLATORS = {"via-", "protocol_lib", "ps_"};
+    private static final String[] ENCODER_ATTRIBUTES = {"protocol", "clientbound_protocol"};
+    private static final Set<AttributeKey<?>> encoderAttributes = ConcurrentHashMap.newKeySet();
+    private static final int MAX_FAILURES = 3;
+    private static final Set<Class<?>> unencodable = ConcurrentHashMap.newKeySet();
+    private static final Map<Class<?>, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private static final Registry<Player, PacketPlayer> packetPlayers = new Registry<>();
+    private static final RegistryIndex<UUID, PacketPlayer> uidIndex = packetPlayers.index(packetPlayer -> packetPlayer.getPlayer().getUniqueId());
+    private static Method encodeMethod;
+    private static Method unbundleMethod;
+    private static PacketCapture capture;
+    private static final ThreadLocal<PacketBatch> batches = new ThreadLocal<>();
+    private static volatile boolean batching = false;
+    private static volatile int batchThreshold = 256;
+    private static volatile boolean coalescing = false;
+    private static volatile boolean sharedEncoding = false;
+    private static volatile int maxDeferred = 512;
+    private static PacketBundler bundler;
 
     /**
      * Initializes the packet system.
      */
     public static void initialize() {
+        bundler = HCore.getProtocolVersion().isNewerOrEqual(ProtocolVersion.v1_19_R3) ?
+                ReflectionUtils.newInstance("com.hakan.core.packet.bundle.versions.PacketBundler_%s") :
+                new PacketBundlerEmpty();
+
+        try {
+            encodeMethod = MessageToByteEncoder.class.getDeclaredMethod("encode", ChannelHandlerContext.class, Object.class, ByteBuf.class);
+            encodeMethod.setAccessible(true);
+            unbundleMethod = MessageToMessageEncoder.class.getDeclaredMethod("encode", ChannelHandlerContext.class, Object.class, List.class);
+            unbundleMethod.setAccessible(true);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        for (String attribute : ENCODER_ATTRIBUTES)
+            if (AttributeKey.exists(attribute))
+                encoderAttributes.add(AttributeKey.valueOf(attribute));
+
         HCore.registerEvent(PlayerJoinEvent.class)
                 .priority(EventPriority.LOWEST)
                 .consume(event -> PacketHandler.register(event.getPlayer()));
         HCore.registerEvent(PlayerQuitEvent.class)
                 .priority(EventPriority.LOWEST)
                 .consume(event -> PacketHandler.unregister(event.getPlayer()));
+
+        HCore.syncScheduler().every(1)
+                .run(PacketHandler::flush);
+    }
+
+
+    /**
+     * Checks packets which are sent
+     * through hCore from the current
+     * thread are batched.
+     *
+     * @return If batching, returns true.
+     */
+    public static boolean isBatching() {
+        return batching || batches.get() != null;
+    }
+
+    /**
+     * Finds batch scope of the current thread.
+     *
+     * @return Batch as optional.
+     */
+    @Nonnull
+    public static Optional<PacketBatch> findBatch() {
+        return Optional.ofNullable(batches.get());
+    }
+
+    /**
+     * Runs the task while packets which are
+     * sent from the current thread are batched,
+     * then flushes the players they were queued
+     * for at once. If the thread is already in
+     * a batch scope, the task joins it.
+     *
+     * @param task Task.
+     */
+    public static void batch(@Nonnull Runnable task) {
+        Validate.notNull(task, "task cannot be null!");
+        if (batches.get() != null) {
+            task.run();
+            return;
+        }
+
+        PacketBatch batch = new PacketBatch();
+        batches.set(batch);
+        try {
+            task.run();
+        } finally {
+            batches.remove();
+            if (!batching)
+                batch.flush();
+        }
+    }
+
+    /**
+     * Runs the task on the current thread in
+     * the given batch scope. It is used by
+     * worker threads to join the scope of the
+     * thread which opened it. The batch is
+     * flushed when that scope ends.
+     *
+     * @param batch Batch.
+     * @param task  Task.
+     */
+    public static void batch(@Nonnull PacketBatch batch, @Nonnull Runnable task) {
+        Validate.notNull(batch, "batch cannot be null!");
+        Validate.notNull(task, "task cannot be null!");
+
+        PacketBatch previous = batches.get();
+        batches.set(batch);
+        try {
+            task.run();
+        } finally {
+            if (previous != null) batches.set(previous);
+            else batches.remove();
+        }
+    }
+
+    /**
+     * Sets batching mode. If it is enabled,
+     * packets which are sent through hCore
+     * will be queued and flushed once
+     * at the end of the tick.
+     *
+     * @param batching Batching mode.
+     */
+    public static void setBatching(boolean batching) {
+        PacketHandler.batching = batching;
+        if (!batching) PacketHandler.flush();
+    }
+
+    /**
+     * Gets batch threshold.
+     *
+     * @return Batch threshold.
+     */
+    public static int getBatchThreshold() {
+        return batchThreshold;
+    }
+
+    /**
+     * Sets batch threshold. If a queue of
+     * player reaches it, the queue is
+     * flushed before the end of the tick.
+     *
+     * @param batchThreshold Batch threshold.
+     */
+    public static void setBatchThreshold(int batchThreshold) {
+        Validate.isTrue(batchThreshold <= 0, "batch threshold must be positive!");
+        PacketHandler.batchThreshold = batchThreshold;
+    }
+
+    /**
+     * Checks redundant entity updates
+     * in the queue are coalesced.
+     *
+     * @return If coalescing, returns true.
+     */
+    public static boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Sets coalescing mode. If it is enabled,
+     * only the last teleport, head rotation
+     * and look packet of each entity is sent
+     * when the queue is flushed. Metadata
+     * packets are dropped only if later ones
+     * of the same entity overwrite all
+     * their values.
+     * It only works when batching is enabled.
+     *
+     * @param coalescing Coalescing mode.
+     */
+    public static void setCoalescing(boolean coalescing) {
+        PacketHandler.coalescing = coalescing;
+    }
+
+    /**
+     * Checks broadcast packets are encoded
+     * once and shared between players.
+     *
+     * @return If sharing encoding, returns true.
+     */
+    public static boolean isSharedEncoding() {
+        return sharedEncoding;
+    }
+
+    /**
+     * Sets shared encoding mode. If it is enabled,
+     * broadcast packets are encoded once by the
+     * encoder of the first player, on the caller
+     * thread, and the same bytes are written to
+     * other players. It assumes the encoder does
+     * not depend on state of each channel other
+     * than its encoder attributes. Enable it only
+     * if the server does not encode packets for
+     * each player differently, such as by their
+     * locale.
+     *
+     * @param sharedEncoding Shared encoding mode.
+     */
+    public static void setSharedEncoding(boolean sharedEncoding) {
+        PacketHandler.sharedEncoding = sharedEncoding;
+    }
+
+    /**
+     * Adds a channel attribute which the encoder
+     * depends on. Broadcast packets are encoded
+     * once only for players whose values of the
+     * encoder attributes are equal. Protocol
+     * attributes of the server are added already.
+     *
+     * @param attribute Attribute key.
+     */
+    public static void addEncoderAttribute(@Nonnull AttributeKey<?> attribute) {
+        encoderAttributes.add(Validate.notNull(attribute, "attribute cannot be null!"));
+    }
+
+    /**
+     * Gets maximum amount of cosmetic and effect
+     * packets which can be deferred for a player
+     * while its channel is not writable.
+     *
+     * @return Maximum deferred packets.
+     */
+    public static int getMaxDeferred() {
+        return maxDeferred;
+    }
+
+    /**
+     * Sets maximum amount of cosmetic and effect
+     * packets which can be deferred for a player
+     * while its channel is not writable. When it
+     * is exceeded, oldest effect packets are
+     * dropped and oldest cosmetic ones are
+     * written anyway, since they carry state.
+     *
+     * @param maxDeferred Maximum deferred packets.
+     */
+    public static void setMaxDeferred(int maxDeferred) {
+        Validate.isTrue(maxDeferred < 0, "max deferred cannot be negative!");
+        PacketHandler.maxDeferred = maxDeferred;
+    }
+
+    /**
+     * Finds running capture.
+     *
+     * @return Capture.
+     */
+    @Nonnull
+    public static Optional<PacketCapture> findCapture() {
+        return Optional.ofNullable(capture);
+    }
+
+    /**
+     * Starts capturing packet traffic of
+     * all players into the file. Class,
+     * size and timestamp of each inbound
+     * and outbound packet is recorded.
+     *
+     * @param file File.
+     * @return Capture.
+     * @throws IOException If file cannot be opened.
+     */
+    @Nonnull
+    public static PacketCapture startCapture(@Nonnull File file) throws IOException {
+        PacketHandler.stopCapture();
+
+        capture = new PacketCapture(Validate.notNull(file, "file cannot be null!"));
+        packetPlayers.values().forEach(packetPlayer -> packetPlayer.startCapture(capture));
+        return capture;
+    }
+
+    /**
+     * Stops running capture
+     * and closes its file.
+     */
+    public static void stopCapture() {
+        if (capture == null)
+            return;
+
+        packetPlayers.values().forEach(PacketPlayer::stopCapture);
+        try {
+            capture.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        capture = null;
+    }
+
+    /**
+     * Flushes queued packets of all players.
+     */
+    public static void flush() {
+        for (PacketPlayer packetPlayer : packetPlayers.values())
+            packetPlayer.flush();
+    }
+
+
+    /**
+     * Bundles given packets, so client
+     * processes them in the same frame.
+     * If server version is older than
+     * 1.19.4, packets are returned as
+     * they are.
+     *
+     * @param packets Packets.
+     * @return Bundled packets.
+     */
+    @Nonnull
+    public static Object[] bundle(@Nonnull Object... packets) {
+        return bundler.bundle(packets);
+    }
+
+
+    /**
+     * Sends packets to players. If shared encoding
+     * is enabled, each packet is serialized once
+     * and the same bytes are written to every
+     * player whose pipeline encodes packets in
+     * the same way, which means the same encoder
+     * class and equal encoder attributes. Players
+     * whose pipeline has a protocol translator
+     * (ViaVersion, ProtocolLib, ProtocolSupport)
+     * are sent packets as usual. Packets which
+     * are listened on write are sent as usual
+     * too, so listeners can change or cancel
+     * them for each player. Bundles are split
+     * by the unbundler of pipeline before they
+     * are encoded. Compression and framing are
+     * applied after the encoder, so they are
+     * still done for each player.
+     *
+     * @param players Players.
+     * @param packets Packets.
+     */
+    public static void broadcast(@Nonnull Collection<Player> players, @Nonnull Object... packets) {
+        Validate.notNull(players, "players cannot be null!");
+        Validate.notNull(packets, "packets cannot be null!");
+
+        if (!sharedEncoding) {
+            for (Player player : players) {
+                PacketPlayer packetPlayer = packetPlayers.get(player);
+                if (packetPlayer != null) packetPlayer.post(packets);
+            }
+            return;
+        }
+
+        ChannelHandlerContext encoder = null;
+        List<PacketPlayer> encodables = new ArrayList<>(players.size());
+        for (Player player : players) {
+            PacketPlayer packetPlayer = packetPlayers.get(player);
+            if (packetPlayer == null)
+                continue;
+
+            ChannelHandlerContext context = PacketHandler.findEncoder(packetPlayer);
+            if (context != null && (encoder == null || PacketHandler.isSameEncoding(encoder, context))) {
+                if (encoder == null) encoder = context;
+                encodables.add(packetPlayer);
+            } else {
+                packetPlayer.post(packets);
+            }
+        }
+
+        if (encodables.size() < 2) {
+            encodables.forEach(packetPlayer -> packetPlayer.post(packets));
+            return;
+        }
+
+        for (Object packet : packets) {
+            List<EncodedPacket> parts = PacketHandler.encode(encoder, packet);
+            if (parts == null) {
+                encodables.forEach(packetPlayer -> packetPlayer.post(packet));
+                continue;
+            }
+
+            try {
+                for (PacketPlayer packetPlayer : encodables)
+                    for (EncodedPacket part : parts)
+                        packetPlayer.write(part.duplicate());
+            } finally {
+                parts.forEach(EncodedPacket::release);
+            }
+        }
     }
 
 
@@ -98,6 +505,28 @@ public static PacketPlayer getByPlayer(@Nonnull Player player) {
         return findByPlayer(player).orElseThrow(() -> new NullPointerException("there is no packet player for player: " + player));
     }
 
+    /**
+     * Finds packet player by UID of player.
+     *
+     * @param uid UID of player.
+     * @return Packet player as optional.
+     */
+    @Nonnull
+    public static Optional<PacketPlayer> findByUID(@Nonnull UUID uid) {
+        return uidIndex.find(Validate.notNull(uid, "uid cannot be null!"));
+    }
+
+    /**
+     * Gets packet player by UID of player.
+     *
+     * @param uid UID of player.
+     * @return Packet player.
+     */
+    @Nonnull
+    public static PacketPlayer getByUID(@Nonnull UUID uid) {
+        return findByUID(uid).orElseThrow(() -> new NullPointerException("there is no packet player for uid: " + uid));
+    }
+
     /**
      * Registers the player listener.
      *
@@ -109,7 +538,11 @@ public static void register(@Nonnull Player player) {
         PacketPlayer packetPlayer = ReflectionUtils.newInstance("com.hakan.core.packet.player.PacketPlayer_%s",
                 new Class[]{Player.class}, new Object[]{player});
         packetPlayers.put(player, packetPlayer);
+        PacketExecutor.open(player.getUniqueId());
         packetPlayer.register();
+
+        if (capture != null)
+            packetPlayer.startCapture(capture);
     }
 
     /**
@@ -119,7 +552,193 @@ public static void register(@Nonnull Player player) {
      */
     public static void unregister(@Nonnull Player player) {
         Validate.notNull(player, "player cannot be null!");
+        PacketExecutor.remove(player.getUniqueId());
         PacketPlayer packetPlayer = packetPlayers.remove(player);
-        if (packetPlayer != null) packetPlayer.unregister();
+        if (packetPlayer != null) {
+            packetPlayer.stopCapture();
+            packetPlayer.clearQueue();
+            packetPlayer.unregister();
+        }
+    }
+
+
+    /**
+     * Finds encoder of packet player if
+     * its pipeline does not translate
+     * packets for another protocol.
+     *
+     * @param packetPlayer Packet player.
+     * @return Encoder context.
+     */
+    @Nullable
+    private static ChannelHandlerContext findEncoder(@Nonnull PacketPlayer packetPlayer) {
+        ChannelPipeline pipeline = packetPlayer.getPipeline();
+        if (pipeline == null || encodeMethod == null)
+            return null;
+
+        for (String name : pipeline.names())
+            for (String translator : TRANSLATORS)
+                if (name.startsWith(translator))
+                    return null;
+
+        ChannelHandlerContext context = pipeline.context("encoder");
+        return (context != null && context.handler() instanceof MessageToByteEncoder) ? context : null;
+    }
+
+    /**
+     * Checks two encoders encode packets in
+     * the same way, so their bytes can be
+     * shared.
+     *
+     * @param encoder Encoder context.
+     * @param other   Other encoder context.
+     * @return If same, returns true.
+     */
+    private static boolean isSameEncoding(@Nonnull ChannelHandlerContext encoder, @Nonnull ChannelHandlerContext other) {
+        if (encoder.handler().getClass() != other.handler().getClass())
+            return false;
+
+        Channel channel = encoder.channel();
+        Channel otherChannel = other.channel();
+        for (AttributeKey<?> attribute : encoderAttributes)
+            if (!Objects.equals(PacketHandler.getAttribute(channel, attribute), PacketHandler.getAttribute(otherChannel, attribute)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Gets attribute value of channel
+     * without creating the attribute.
+     *
+     * @param channel   Channel.
+     * @param attribute Attribute key.
+     * @return Value, null if absent.
+     */
+    @Nullable
+    private static Object getAttribute(@Nonnull Channel channel, @Nonnull AttributeKey<?> attribute) {
+        return channel.hasAttr(attribute) ? channel.attr(attribute).get() : null;
+    }
+
+    /**
+     * Encodes packet with given encoder. If
+     * pipeline has an unbundler, packet is
+     * split by it first and each part is
+     * encoded. If packet or any part is
+     * listened on write or cannot be
+     * encoded, null is returned.
+     *
+     * @param encoder Encoder context.
+     * @param packet  Packet.
+     * @return Encoded parts of packet.
+     */
+    @Nullable
+    private static List<EncodedPacket> encode(@Nonnull ChannelHandlerContext encoder, @Nonnull Object packet) {
+        if (PacketHandler.isListened(packet.getClass()))
+            return null;
+
+        List<Object> parts = PacketHandler.unbundle(encoder.pipeline().context("unbundler"), packet);
+        if (parts == null)
+            return null;
+
+        List<EncodedPacket> encoded = new ArrayList<>(parts.size());
+        for (Object part : parts) {
+            ByteBuf buf = (part == packet || !PacketHandler.isListened(part.getClass())) ?
+                    PacketHandler.encodePart(encoder, part) : null;
+            if (buf == null) {
+                encoded.forEach(EncodedPacket::release);
+                return null;
+            }
+            encoded.add(new EncodedPacket(part, buf));
+        }
+        return encoded;
+    }
+
+    /**
+     * Splits packet into the packets which
+     * unbundler writes to the encoder. If
+     * there is no unbundler, packet is
+     * returned as it is.
+     *
+     * @param unbundler Unbundler context.
+     * @param packet    Packet.
+     * @return Parts of packet.
+     */
+    @Nullable
+    private static List<Object> unbundle(@Nullable ChannelHandlerContext unbundler, @Nonnull Object packet) {
+        if (unbundler == null || unbundleMethod == null || !(unbundler.handler() instanceof MessageToMessageEncoder))
+            return Collections.singletonList(packet);
+        else if (unencodable.contains(packet.getClass()))
+            return null;
+
+        try {
+            MessageToMessageEncoder<?> handler = (MessageToMessageEncoder<?>) unbundler.handler();
+            if (!handler.acceptOutboundMessage(packet))
+                return Collections.singletonList(packet);
+
+            List<Object> parts = new ArrayList<>();
+            unbundleMethod.invoke(handler, unbundler, packet, parts);
+            return parts;
+        } catch (Exception e) {
+            PacketHandler.fail(packet.getClass());
+            return null;
+        }
+    }
+
+    /**
+     * Encodes packet with given encoder.
+     * If packet is not accepted by the
+     * encoder or encoding fails too many
+     * times, its class is not tried again.
+     *
+     * @param encoder Encoder context.
+     * @param packet  Packet.
+     * @return Encoded packet.
+     */
+    @Nullable
+    private static ByteBuf encodePart(@Nonnull ChannelHandlerContext encoder, @Nonnull Object packet) {
+        if (unencodable.contains(packet.getClass()))
+            return null;
+
+        ByteBuf buf = encoder.alloc().buffer();
+        try {
+            MessageToByteEncoder<?> handler = (MessageToByteEncoder<?>) encoder.handler();
+            if (!handler.acceptOutboundMessage(packet)) {
+                buf.release();
+                unencodable.add(packet.getClass());
+                return null;
+            }
+
+            encodeMethod.invoke(handler, encoder, packet, buf);
+            return buf;
+        } catch (Exception e) {
+            buf.release();
+            PacketHandler.fail(packet.getClass());
+            return null;
+        }
+    }
+
+    /**
+     * Counts failure of packet class. If it
+     * fails too many times, it is not
+     * tried to be encoded again.
+     *
+     * @param packetClass Packet class.
+     */
+    private static void fail(@Nonnull Class<?> packetClass) {
+        if (failures.computeIfAbsent(packetClass, key -> new AtomicInteger()).incrementAndGet() >= MAX_FAILURES)
+            unencodable.add(packetClass);
+    }
+
+    /**
+     * Checks packet class is listened on
+     * write, so it must go through the
+     * pipeline of each player.
+     *
+     * @param packetClass Packet class.
+     * @return If listened, returns true.
+     */
+    private static boolean isListened(@Nonnull Class<?> packetClass) {
+        return PacketBus.hasSubscriptions(packetClass, PacketEvent.Type.WRITE) ||
+                PacketEvent.getHandlerList().getRegisteredListeners().length > 0;
     }
 }
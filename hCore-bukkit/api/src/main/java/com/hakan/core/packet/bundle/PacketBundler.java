@@ -0,0 +1,22 @@
+package com.hakan.core.packet.bundle;
+
+import javax.annotation.Nonnull;
+
+/**
+ * PacketBundler class to wrap packets
+ * into bundles, so client processes
+ * them in the same frame.
+ */
+public interface PacketBundler {
+
+    /**
+     * Bundles given packets. If server version
+     * does not support bundles, packets are
+     * returned as they are.
+     *
+     * @param packets Packets.
+     * @return Bundled packets.
+     */
+    @Nonnull
+    Object[] bundle(@Nonnull Object... packets);
+}
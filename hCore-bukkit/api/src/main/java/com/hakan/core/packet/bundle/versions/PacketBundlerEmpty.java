@@ -0,0 +1,21 @@
+package com.hakan.core.packet.bundle.versions;
+
+import com.hakan.core.packet.bundle.PacketBundler;
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@inheritDoc}
+ */
+public final class PacketBundlerEmpty implements PacketBundler {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Object[] bundle(@Nonnull Object... packets) {
+        return Validate.notNull(packets, "packets cannot be null!");
+    }
+}
@@ -0,0 +1,287 @@
+package com.hakan.core.packet.bus;
+
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.packet.utils.PacketUtils;
+import com.hakan.core.utils.Validate;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * PacketBus class to dispatch packets
+ * only to subscriptions of their class.
+ * Subscriptions of a packet class are
+ * resolved once and cached as arrays.
+ */
+public final class PacketBus {
+
+    private static final PacketSubscription[] EMPTY = new PacketSubscription[0];
+    private static final List<PacketSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private static volatile Map<Class<?>, Route> readTable = new ConcurrentHashMap<>();
+    private static volatile Map<Class<?>, Route> writeTable = new ConcurrentHashMap<>();
+
+    /**
+     * Gets subscriptions.
+     *
+     * @return Subscriptions.
+     */
+    @Nonnull
+    public static Collection<PacketSubscription> getValues() {
+        return Collections.unmodifiableList(subscriptions);
+    }
+
+    /**
+     * Subscribes to packets of given class.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @param consumer    Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribe(@Nonnull Class<?> packetClass,
+                                               @Nonnull PacketEvent.Type type,
+                                               @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.register(new PacketSubscription(packetClass, type, consumer, false));
+    }
+
+    /**
+     * Subscribes to packets of given class name.
+     * It is useful when nms class cannot be
+     * reached, such as "PacketPlayInUseEntity".
+     *
+     * @param packetName Simple name of packet class.
+     * @param type       Packet type.
+     * @param consumer   Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribe(@Nonnull String packetName,
+                                               @Nonnull PacketEvent.Type type,
+                                               @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.register(new PacketSubscription(packetName, type, consumer, false));
+    }
+
+    /**
+     * Subscribes to packets of given class
+     * asynchronously. Consumer runs off the
+     * netty thread after the packet is passed,
+     * in order for each player. It cannot
+     * cancel the packet.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @param consumer    Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribeAsync(@Nonnull Class<?> packetClass,
+                                                    @Nonnull PacketEvent.Type type,
+                                                    @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.register(new PacketSubscription(packetClass, type, consumer, true));
+    }
+
+    /**
+     * Subscribes to packets of given class name
+     * asynchronously. Consumer runs off the
+     * netty thread after the packet is passed,
+     * in order for each player. It cannot
+     * cancel the packet.
+     *
+     * @param packetName Simple name of packet class.
+     * @param type       Packet type.
+     * @param consumer   Consumer.
+     * @return Subscription.
+     */
+    @Nonnull
+    public static PacketSubscription subscribeAsync(@Nonnull String packetName,
+                                                    @Nonnull PacketEvent.Type type,
+                                                    @Nonnull Consumer<PacketEvent> consumer) {
+        return PacketBus.register(new PacketSubscription(packetName, type, consumer, true));
+    }
+
+    /**
+     * Unsubscribes given subscription.
+     *
+     * @param subscription Subscription.
+     */
+    public static void unsubscribe(@Nonnull PacketSubscription subscription) {
+        if (subscriptions.remove(Validate.notNull(subscription, "subscription cannot be null!")))
+            PacketBus.invalidate();
+    }
+
+    /**
+     * Checks there is any subscription
+     * for given packet class and type.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @return If there is, returns true.
+     */
+    public static boolean hasSubscriptions(@Nonnull Class<?> packetClass, @Nonnull PacketEvent.Type type) {
+        return !PacketBus.lookup(packetClass, type).isEmpty();
+    }
+
+    /**
+     * Dispatches packet to its subscriptions
+     * and PacketEvent listeners. If nobody
+     * listens, no event is created.
+     *
+     * @param player Player.
+     * @param packet Packet.
+     * @param type   Packet type.
+     * @return If packet is cancelled, returns true.
+     */
+    public static boolean dispatch(@Nonnull Player player, @Nonnull Object packet, @Nonnull PacketEvent.Type type) {
+        Route route = PacketBus.lookup(packet.getClass(), type);
+        boolean listened = PacketEvent.getHandlerList().getRegisteredListeners().length > 0;
+        if (route.isEmpty() && !listened)
+            return false;
+
+        PacketEvent event = new PacketEvent(player, packet, type);
+        for (PacketSubscription subscription : route.sync) {
+            try {
+                subscription.getConsumer().accept(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (listened)
+            PacketUtils.callEvent(event);
+        if (event.isCancelled())
+            return true;
+
+        if (route.async.length > 0) {
+            PacketExecutor.execute(player.getUniqueId(), () -> {
+                for (PacketSubscription subscription : route.async) {
+                    try {
+                        subscription.getConsumer().accept(event);
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+        }
+        return false;
+    }
+
+    /**
+     * Dispatches packet only to its sync
+     * subscriptions, so they can still cancel
+     * it. Async subscriptions and PacketEvent
+     * listeners are skipped. It is used for
+     * packets which exceed their limit.
+     *
+     * @param player Player.
+     * @param packet Packet.
+     * @param type   Packet type.
+     * @return If packet is cancelled, returns true.
+     */
+    public static boolean dispatchSync(@Nonnull Player player, @Nonnull Object packet, @Nonnull PacketEvent.Type type) {
+        Route route = PacketBus.lookup(packet.getClass(), type);
+        if (route.sync.length == 0)
+            return false;
+
+        PacketEvent event = new PacketEvent(player, packet, type);
+        for (PacketSubscription subscription : route.sync) {
+            try {
+                subscription.getConsumer().accept(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return event.isCancelled();
+    }
+
+
+
+    /**
+     * Registers subscription and
+     * invalidates resolved tables.
+     *
+     * @param subscription Subscription.
+     * @return Subscription.
+     */
+    @Nonnull
+    private static PacketSubscription register(@Nonnull PacketSubscription subscription) {
+        subscriptions.add(subscription);
+        PacketBus.invalidate();
+        return subscription;
+    }
+
+    /**
+     * Replaces resolved tables, so a lookup
+     * running meanwhile cannot store stale
+     * subscriptions into the new ones.
+     */
+    private static void invalidate() {
+        readTable = new ConcurrentHashMap<>();
+        writeTable = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Finds route of packet class
+     * from table, resolves if absent.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @return Route.
+     */
+    @Nonnull
+    private static Route lookup(@Nonnull Class<?> packetClass, @Nonnull PacketEvent.Type type) {
+        Map<Class<?>, Route> table = (type == PacketEvent.Type.READ) ? readTable : writeTable;
+
+        Route resolved = table.get(packetClass);
+        if (resolved == null) {
+            resolved = PacketBus.resolve(packetClass, type);
+            table.put(packetClass, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolves route of packet class.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @return Route.
+     */
+    @Nonnull
+    private static Route resolve(@Nonnull Class<?> packetClass, @Nonnull PacketEvent.Type type) {
+        List<PacketSubscription> sync = new ArrayList<>();
+        List<PacketSubscription> async = new ArrayList<>();
+        for (PacketSubscription subscription : subscriptions)
+            if (subscription.getType() == type && subscription.matches(packetClass))
+                (subscription.isAsync() ? async : sync).add(subscription);
+        return new Route(sync.isEmpty() ? EMPTY : sync.toArray(EMPTY), async.isEmpty() ? EMPTY : async.toArray(EMPTY));
+    }
+
+
+    /**
+     * Resolved sync and async
+     * subscriptions of a packet class.
+     */
+    private static final class Route {
+
+        private final PacketSubscription[] sync;
+        private final PacketSubscription[] async;
+
+        private Route(@Nonnull PacketSubscription[] sync, @Nonnull PacketSubscription[] async) {
+            this.sync = sync;
+            this.async = async;
+        }
+
+        private boolean isEmpty() {
+            return this.sync.length == 0 && this.async.length == 0;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.hakan.core.packet.bus;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PacketExecutor class to run async packet
+ * subscriptions off the netty threads. Tasks
+ * of a player run in order, while tasks of
+ * different players run in parallel.
+ */
+public final class PacketExecutor {
+
+    private static final int BATCH = 64;
+    private static final Executor executor = PacketExecutor.createExecutor();
+    private static final Map<UUID, Serial> serials = new ConcurrentHashMap<>();
+    private static final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Executes task for player. Tasks of
+     * the same player run in order. Tasks
+     * are refused if the player is not
+     * registered or has quit, since late
+     * netty reads can still dispatch them.
+     *
+     * @param uid  UID of player.
+     * @param task Task.
+     */
+    public static void execute(@Nonnull UUID uid, @Nonnull Runnable task) {
+        Validate.notNull(uid, "uid cannot be null!");
+        Validate.notNull(task, "task cannot be null!");
+
+        Serial serial = serials.get(uid);
+        if (serial != null && !serial.closed)
+            serial.execute(task);
+    }
+
+    /**
+     * Opens serial executor of player. If the
+     * player rejoins before its old executor
+     * drains, the old one is reopened, so
+     * old and new tasks never run at once.
+     *
+     * @param uid UID of player.
+     */
+    public static void open(@Nonnull UUID uid) {
+        serials.compute(Validate.notNull(uid, "uid cannot be null!"), (key, serial) -> {
+            if (serial == null)
+                return new Serial(key);
+            serial.closed = false;
+            return serial;
+        });
+    }
+
+    /**
+     * Closes serial executor of player.
+     * Tasks which are already queued still
+     * run, and the executor is removed
+     * once they drain.
+     *
+     * @param uid UID of player.
+     */
+    public static void remove(@Nonnull UUID uid) {
+        serials.computeIfPresent(Validate.notNull(uid, "uid cannot be null!"), (key, serial) -> {
+            serial.closed = true;
+            return serial.drain();
+        });
+    }
+
+    /**
+     * Gets amount of tasks which are
+     * rejected because the pool is full.
+     *
+     * @return Rejected tasks.
+     */
+    public static long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Creates backing executor. Virtual threads
+     * are used if the runtime supports them,
+     * otherwise a bounded daemon pool is used.
+     *
+     * @return Executor.
+     */
+    @Nonnull
+    private static Executor createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            AtomicInteger counter = new AtomicInteger();
+            return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10_000), runnable -> {
+                Thread thread = new Thread(runnable, "hcore-packet-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+
+    /**
+     * Serial executor of a player.
+     */
+    private static final class Serial implements Runnable {
+
+        private final UUID uid;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Serial(@Nonnull UUID uid) {
+            this.uid = uid;
+        }
+
+        private void execute(@Nonnull Runnable task) {
+            this.tasks.add(task);
+            if (!this.schedule() && this.tasks.remove(task))
+                rejected.incrementAndGet();
+        }
+
+        /**
+         * Schedules the serial if it is not
+         * running. If the pool is full, queued
+         * tasks wait for the next execution.
+         *
+         * @return If rejected by the pool, returns false.
+         */
+        private boolean schedule() {
+            if (!this.running.compareAndSet(false, true))
+                return true;
+
+            try {
+                executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                this.running.set(false);
+                return false;
+            }
+        }
+
+        /**
+         * Drains the closed serial if it is not
+         * running. Tasks which could not be
+         * scheduled are counted as rejected.
+         * It is called in map computations.
+         *
+         * @return Null if drained, otherwise this.
+         */
+        @Nullable
+        private Serial drain() {
+            if (!this.closed || this.running.get())
+                return this;
+
+            rejected.addAndGet(this.tasks.size());
+            this.tasks.clear();
+            return null;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < BATCH; i++) {
+                    Runnable task = this.tasks.poll();
+                    if (task == null)
+                        break;
+
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+            } finally {
+                this.running.set(false);
+                if ((this.tasks.isEmpty() || !this.schedule()) && this.closed)
+                    serials.computeIfPresent(this.uid, (key, serial) -> (serial == this) ? this.drain() : serial);
+            }
+        }
+    }
+}
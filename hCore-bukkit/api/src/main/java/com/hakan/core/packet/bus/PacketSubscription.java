@@ -0,0 +1,136 @@
+package com.hakan.core.packet.bus;
+
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+
+/**
+ * PacketSubscription class to consume
+ * packets of a type and direction.
+ */
+public final class PacketSubscription {
+
+    private final Class<?> packetClass;
+    private final String packetName;
+    private final PacketEvent.Type type;
+    private final Consumer<PacketEvent> consumer;
+    private final boolean async;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param packetClass Packet class.
+     * @param type        Packet type.
+     * @param consumer    Consumer.
+     * @param async       If true, consumer runs off the netty thread.
+     */
+    PacketSubscription(@Nonnull Class<?> packetClass,
+                       @Nonnull PacketEvent.Type type,
+                       @Nonnull Consumer<PacketEvent> consumer,
+                       boolean async) {
+        this.packetClass = Validate.notNull(packetClass, "packet class cannot be null!");
+        this.packetName = null;
+        this.type = Validate.notNull(type, "packet type cannot be null!");
+        this.consumer = Validate.notNull(consumer, "consumer cannot be null!");
+        this.async = async;
+    }
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param packetName Simple name of packet class.
+     * @param type       Packet type.
+     * @param consumer   Consumer.
+     * @param async      If true, consumer runs off the netty thread.
+     */
+    PacketSubscription(@Nonnull String packetName,
+                       @Nonnull PacketEvent.Type type,
+                       @Nonnull Consumer<PacketEvent> consumer,
+                       boolean async) {
+        this.packetClass = null;
+        this.packetName = Validate.notNull(packetName, "packet name cannot be null!");
+        this.type = Validate.notNull(type, "packet type cannot be null!");
+        this.consumer = Validate.notNull(consumer, "consumer cannot be null!");
+        this.async = async;
+    }
+
+    /**
+     * Gets packet class.
+     *
+     * @return Packet class.
+     */
+    @Nullable
+    public Class<?> getPacketClass() {
+        return this.packetClass;
+    }
+
+    /**
+     * Gets simple name of packet class.
+     *
+     * @return Packet name.
+     */
+    @Nullable
+    public String getPacketName() {
+        return this.packetName;
+    }
+
+    /**
+     * Gets packet type.
+     *
+     * @return Packet type.
+     */
+    @Nonnull
+    public PacketEvent.Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets consumer.
+     *
+     * @return Consumer.
+     */
+    @Nonnull
+    public Consumer<PacketEvent> getConsumer() {
+        return this.consumer;
+    }
+
+    /**
+     * Checks consumer runs off the netty
+     * thread. Async consumers cannot
+     * cancel packets.
+     *
+     * @return If async, returns true.
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
+    /**
+     * Checks subscription consumes
+     * packets of given class.
+     *
+     * @param clazz Packet class.
+     * @return If subscription consumes, returns true.
+     */
+    public boolean matches(@Nonnull Class<?> clazz) {
+        Validate.notNull(clazz, "class cannot be null!");
+
+        if (this.packetClass != null)
+            return this.packetClass.isAssignableFrom(clazz);
+
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass())
+            if (current.getSimpleName().equals(this.packetName))
+                return true;
+        return false;
+    }
+
+    /**
+     * Unsubscribes from packet bus.
+     */
+    public void unsubscribe() {
+        PacketBus.unsubscribe(this);
+    }
+}
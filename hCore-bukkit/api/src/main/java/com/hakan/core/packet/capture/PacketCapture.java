@@ -0,0 +1,185 @@
+package com.hakan.core.packet.capture;
+
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * PacketCapture class to record packet
+ * traffic into an append-only file
+ * through a memory-mapped buffer.
+ * <p>
+ * File starts with {@link #MAGIC} and
+ * {@link #VERSION}, then records follow.
+ * Each record starts with its kind:
+ * <ul>
+ *     <li>{@link #PLAYER}: short id, long most, long least bits of uid.</li>
+ *     <li>{@link #CLASS}: short id, short length, utf-8 class name.</li>
+ *     <li>{@link #PACKET}: long nanos since start, short player id,
+ *     byte type (0 read, 1 write), short class id, int size.</li>
+ * </ul>
+ * Size is the encoded packet id and payload,
+ * before compression, framing and encryption.
+ */
+public final class PacketCapture implements Closeable {
+
+    public static final int MAGIC = 0x68434150;
+    public static final byte VERSION = 2;
+    public static final byte PLAYER = 0;
+    public static final byte CLASS = 1;
+    public static final byte PACKET = 2;
+
+    private static final int REGION = 8 * 1024 * 1024;
+
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final Map<UUID, Short> players;
+    private final Map<String, Short> classes;
+    private final long start;
+    private MappedByteBuffer buffer;
+    private long position;
+    private long records;
+    private boolean closed;
+
+    /**
+     * Creates new instance of this class
+     * and starts a new capture file.
+     *
+     * @param file File.
+     * @throws IOException If file cannot be opened.
+     */
+    public PacketCapture(@Nonnull File file) throws IOException {
+        this.file = Validate.notNull(file, "file cannot be null!");
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.channel = this.randomAccessFile.getChannel();
+        this.channel.truncate(0);
+        this.players = new HashMap<>();
+        this.classes = new HashMap<>();
+        this.start = System.nanoTime();
+
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION);
+        this.buffer.putInt(MAGIC);
+        this.buffer.put(VERSION);
+    }
+
+    /**
+     * Gets file.
+     *
+     * @return File.
+     */
+    @Nonnull
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Gets amount of recorded packets.
+     *
+     * @return Recorded packets.
+     */
+    public synchronized long getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Records a packet.
+     *
+     * @param uid         UID of player.
+     * @param type        Packet type.
+     * @param packetClass Class name of packet.
+     * @param size        Size of packet in bytes.
+     */
+    public synchronized void record(@Nonnull UUID uid, @Nonnull PacketEvent.Type type, @Nonnull String packetClass, int size) {
+        if (this.closed)
+            return;
+
+        try {
+            Short playerID = this.players.get(uid);
+            if (playerID == null) {
+                playerID = (short) this.players.size();
+                this.players.put(uid, playerID);
+
+                this.ensure(19);
+                this.buffer.put(PLAYER);
+                this.buffer.putShort(playerID);
+                this.buffer.putLong(uid.getMostSignificantBits());
+                this.buffer.putLong(uid.getLeastSignificantBits());
+            }
+
+            Short classID = this.classes.get(packetClass);
+            if (classID == null) {
+                classID = (short) this.classes.size();
+                this.classes.put(packetClass, classID);
+
+                byte[] name = packetClass.getBytes(StandardCharsets.UTF_8);
+                this.ensure(5 + name.length);
+                this.buffer.put(CLASS);
+                this.buffer.putShort(classID);
+                this.buffer.putShort((short) name.length);
+                this.buffer.put(name);
+            }
+
+            this.ensure(18);
+            this.buffer.put(PACKET);
+            this.buffer.putLong(System.nanoTime() - this.start);
+            this.buffer.putShort(playerID);
+            this.buffer.put((byte) type.ordinal());
+            this.buffer.putShort(classID);
+            this.buffer.putInt(size);
+            this.records++;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Forces written records to file,
+     * then truncates unused space.
+     *
+     * @throws IOException If file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed)
+            return;
+        this.closed = true;
+
+        long length = this.position + this.buffer.position();
+        this.buffer.force();
+        this.buffer = null;
+
+        this.channel.truncate(length);
+        this.channel.close();
+        this.randomAccessFile.close();
+    }
+
+    /**
+     * Maps next region of file if
+     * current one has not enough
+     * space for the record.
+     *
+     * @param bytes Size of record.
+     * @throws IOException If file cannot be mapped.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (this.buffer.remaining() >= bytes)
+            return;
+
+        this.position += this.buffer.position();
+        this.buffer.force();
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, this.position, REGION);
+    }
+}
@@ -0,0 +1,190 @@
+package com.hakan.core.packet.capture;
+
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.utils.Validate;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * PacketCaptureHandler class to measure
+ * packet sizes on the wire. Sizes are
+ * measured at the packet codec, so both
+ * directions are counted as encoded packet
+ * id and payload, before compression,
+ * framing and encryption.
+ * <p>
+ * Handlers are placed around the codec and
+ * called in the same event loop call as it,
+ * so each size is paired with its own packet.
+ * Outbound packets are paired after the
+ * unbundler, so each part of a bundle is
+ * recorded by its own class.
+ */
+public final class PacketCaptureHandler {
+
+    public static final String NAME = "hcore_capture";
+    public static final String DECODER = NAME + "_decoder";
+    public static final String ENCODER = NAME + "_encoder";
+    public static final String PACKETS = NAME + "_packets";
+
+
+    private final PacketCapture capture;
+    private final UUID uid;
+    private int readSize = -1;
+    private String writeClass;
+    private String encodedClass;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param capture Capture.
+     * @param uid     UID of player.
+     */
+    public PacketCaptureHandler(@Nonnull PacketCapture capture, @Nonnull UUID uid) {
+        this.capture = Validate.notNull(capture, "capture cannot be null!");
+        this.uid = Validate.notNull(uid, "uid cannot be null!");
+    }
+
+    /**
+     * Gets capture.
+     *
+     * @return Capture.
+     */
+    @Nonnull
+    public PacketCapture getCapture() {
+        return this.capture;
+    }
+
+    /**
+     * Adds capture handlers around the
+     * decoder and encoder of pipeline.
+     *
+     * @param pipeline Pipeline.
+     * @return If pipeline has no codec, returns false.
+     */
+    public boolean register(@Nonnull ChannelPipeline pipeline) {
+        Validate.notNull(pipeline, "pipeline cannot be null!");
+        if (pipeline.get("decoder") == null || pipeline.get("encoder") == null)
+            return false;
+
+        pipeline.addBefore("decoder", DECODER, new Decoder());
+        pipeline.addBefore("encoder", ENCODER, new Encoder());
+        pipeline.addAfter("encoder", PACKETS, new Packets());
+        return true;
+    }
+
+    /**
+     * Removes capture handlers
+     * from pipeline.
+     *
+     * @param pipeline Pipeline.
+     */
+    public void unregister(@Nonnull ChannelPipeline pipeline) {
+        Validate.notNull(pipeline, "pipeline cannot be null!");
+        for (String name : new String[]{DECODER, ENCODER, PACKETS})
+            if (pipeline.get(name) != null) pipeline.remove(name);
+    }
+
+    /**
+     * Called by the hCore handler when
+     * a decoded packet is received.
+     *
+     * @param packet Packet.
+     */
+    public void onRead(@Nonnull Object packet) {
+        if (this.readSize == -1)
+            return;
+
+        this.capture.record(this.uid, PacketEvent.Type.READ, packet.getClass().getName(), this.readSize);
+        this.readSize = -1;
+    }
+
+    /**
+     * Called on the event loop right before
+     * bytes of an encoded packet are written,
+     * since its bytes skip the encoder.
+     *
+     * @param packet Packet of the bytes.
+     */
+    public void onEncoded(@Nonnull Object packet) {
+        this.encodedClass = packet.getClass().getName();
+    }
+
+
+    /**
+     * Measures inbound packets
+     * before they are decoded.
+     */
+    private final class Decoder extends ChannelInboundHandlerAdapter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void channelRead(ChannelHandlerContext channelHandlerContext, Object msg) throws Exception {
+            if (!(msg instanceof ByteBuf)) {
+                super.channelRead(channelHandlerContext, msg);
+                return;
+            }
+
+            PacketCaptureHandler.this.readSize = ((ByteBuf) msg).readableBytes();
+            try {
+                super.channelRead(channelHandlerContext, msg);
+            } finally {
+                PacketCaptureHandler.this.readSize = -1;
+            }
+        }
+    }
+
+    /**
+     * Pairs outbound packets with their
+     * class before they are encoded.
+     */
+    private final class Packets extends ChannelOutboundHandlerAdapter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(ChannelHandlerContext channelHandlerContext, Object o, ChannelPromise channelPromise) throws Exception {
+            if (o instanceof ByteBuf) {
+                PacketCaptureHandler.this.writeClass = PacketCaptureHandler.this.encodedClass;
+                PacketCaptureHandler.this.encodedClass = null;
+            } else {
+                PacketCaptureHandler.this.writeClass = o.getClass().getName();
+            }
+
+            try {
+                super.write(channelHandlerContext, o, channelPromise);
+            } finally {
+                PacketCaptureHandler.this.writeClass = null;
+            }
+        }
+    }
+
+    /**
+     * Measures outbound packets
+     * after they are encoded.
+     */
+    private final class Encoder extends ChannelOutboundHandlerAdapter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(ChannelHandlerContext channelHandlerContext, Object o, ChannelPromise channelPromise) throws Exception {
+            if (o instanceof ByteBuf && PacketCaptureHandler.this.writeClass != null) {
+                PacketCaptureHandler.this.capture.record(PacketCaptureHandler.this.uid, PacketEvent.Type.WRITE, PacketCaptureHandler.this.writeClass, ((ByteBuf) o).readableBytes());
+                PacketCaptureHandler.this.writeClass = null;
+            }
+            super.write(channelHandlerContext, o, channelPromise);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.hakan.core.packet.capture;
+
+import com.hakan.core.packet.player.PacketPlayer;
+import com.hakan.core.packet.player.PacketPlayerHandler;
+import com.hakan.core.utils.Validate;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * PacketReplay class to feed recorded
+ * inbound traffic through embedded
+ * channels which have the hCore handler,
+ * so handler throughput and allocation
+ * can be measured without real clients.
+ */
+public final class PacketReplay {
+
+    private final File file;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param file Capture file.
+     */
+    public PacketReplay(@Nonnull File file) {
+        this.file = Validate.notNull(file, "file cannot be null!");
+    }
+
+    /**
+     * Gets capture file.
+     *
+     * @return File.
+     */
+    @Nonnull
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Replays inbound packets of the capture
+     * file. Packets are created by the factory
+     * from their class names, if factory returns
+     * null, the packet is skipped. Packets and
+     * channels are created before measuring,
+     * so only the handler is measured.
+     *
+     * @param factory Packet factory.
+     * @return Result.
+     * @throws IOException If file cannot be read.
+     */
+    @Nonnull
+    public Result replay(@Nonnull Function<String, Object> factory) throws IOException {
+        Validate.notNull(factory, "factory cannot be null!");
+
+        Map<Short, UUID> players = new HashMap<>();
+        Map<Short, String> classes = new HashMap<>();
+        Map<Short, EmbeddedChannel> channels = new HashMap<>();
+        List<EmbeddedChannel> targets = new ArrayList<>();
+        List<Object> packets = new ArrayList<>();
+        long skipped = 0;
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r");
+             FileChannel fileChannel = randomAccessFile.getChannel()) {
+            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            Validate.isTrue(buffer.getInt() != PacketCapture.MAGIC, "file is not a packet capture!");
+            Validate.isTrue(buffer.get() != PacketCapture.VERSION, "unsupported capture version!");
+
+            while (buffer.hasRemaining()) {
+                byte kind = buffer.get();
+                if (kind == PacketCapture.PLAYER) {
+                    players.put(buffer.getShort(), new UUID(buffer.getLong(), buffer.getLong()));
+                } else if (kind == PacketCapture.CLASS) {
+                    short id = buffer.getShort();
+                    byte[] name = new byte[buffer.getShort()];
+                    buffer.get(name);
+                    classes.put(id, new String(name, StandardCharsets.UTF_8));
+                } else if (kind == PacketCapture.PACKET) {
+                    buffer.getLong();
+                    short playerID = buffer.getShort();
+                    byte type = buffer.get();
+                    short classID = buffer.getShort();
+                    buffer.getInt();
+
+                    if (type != 0)
+                        continue;
+
+                    Object packet = factory.apply(classes.get(classID));
+                    if (packet == null) {
+                        skipped++;
+                        continue;
+                    }
+
+                    targets.add(channels.computeIfAbsent(playerID, id -> PacketReplay.createChannel(players.get(id))));
+                    packets.add(packet);
+                } else {
+                    throw new IOException("unknown record kind: " + kind);
+                }
+            }
+        }
+
+        long allocated = PacketReplay.allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < packets.size(); i++)
+            targets.get(i).writeInbound(packets.get(i));
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = PacketReplay.allocatedBytes();
+        channels.values().forEach(EmbeddedChannel::finish);
+
+        return new Result(packets.size(), skipped, elapsed, (allocated < 0 || allocatedAfter < 0) ? -1 : allocatedAfter - allocated);
+    }
+
+    /**
+     * Creates embedded channel with
+     * the hCore handler for the player.
+     *
+     * @param uid UID of player.
+     * @return Embedded channel.
+     */
+    @Nonnull
+    private static EmbeddedChannel createChannel(@Nonnull UUID uid) {
+        ReplayPacketPlayer packetPlayer = new ReplayPacketPlayer(PacketReplay.createPlayer(uid));
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketPlayerHandler(packetPlayer), new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext channelHandlerContext, Object msg) {
+                ReferenceCountUtil.release(msg);
+            }
+        });
+        packetPlayer.setPipeline(channel);
+        return channel;
+    }
+
+    /**
+     * Creates a player stub which only
+     * knows its uid and is always online.
+     *
+     * @param uid UID of player.
+     * @return Player.
+     */
+    @Nonnull
+    private static Player createPlayer(@Nonnull UUID uid) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class[]{Player.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uid;
+                case "getName":
+                    return uid.toString().substring(0, 16);
+                case "isOnline":
+                    return true;
+                case "hashCode":
+                    return uid.hashCode();
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "ReplayPlayer{" + uid + "}";
+                default:
+                    Class<?> returnType = method.getReturnType();
+                    return (returnType.isPrimitive() && returnType != void.class) ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+            }
+        });
+    }
+
+    /**
+     * Gets allocated bytes of current
+     * thread if the runtime supports it.
+     *
+     * @return Allocated bytes, or -1.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        return -1;
+    }
+
+
+    /**
+     * Result of a replay.
+     */
+    public static final class Result {
+
+        private final long packets;
+        private final long skipped;
+        private final long elapsed;
+        private final long allocated;
+
+        private Result(long packets, long skipped, long elapsed, long allocated) {
+            this.packets = packets;
+            this.skipped = skipped;
+            this.elapsed = elapsed;
+            this.allocated = allocated;
+        }
+
+        /**
+         * Gets amount of replayed packets.
+         *
+         * @return Replayed packets.
+         */
+        public long getPackets() {
+            return this.packets;
+        }
+
+        /**
+         * Gets amount of packets which
+         * factory could not create.
+         *
+         * @return Skipped packets.
+         */
+        public long getSkipped() {
+            return this.skipped;
+        }
+
+        /**
+         * Gets elapsed time in nanoseconds.
+         *
+         * @return Elapsed time.
+         */
+        public long getElapsed() {
+            return this.elapsed;
+        }
+
+        /**
+         * Gets allocated bytes during replay,
+         * or -1 if runtime does not support it.
+         *
+         * @return Allocated bytes.
+         */
+        public long getAllocated() {
+            return this.allocated;
+        }
+
+        /**
+         * Gets replayed packets per second.
+         *
+         * @return Throughput.
+         */
+        public double getThroughput() {
+            return (this.elapsed == 0) ? 0 : this.packets * 1_000_000_000D / this.elapsed;
+        }
+    }
+
+
+    /**
+     * Packet player of a replayed
+     * connection. It does not send
+     * anything.
+     */
+    private static final class ReplayPacketPlayer extends PacketPlayer {
+
+        private ReplayPacketPlayer(@Nonnull Player player) {
+            super(player);
+        }
+
+        private void setPipeline(@Nonnull EmbeddedChannel channel) {
+            this.pipeline = channel.pipeline();
+        }
+
+        @Override
+        public void send(@Nonnull Object... packets) {
+        }
+
+        @Override
+        public void register() {
+        }
+
+        @Override
+        public void unregister() {
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hakan.core.packet.event;
 
+import com.hakan.core.utils.FieldAccessor;
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
 import org.bukkit.entity.Player;
@@ -28,6 +29,24 @@ public static HandlerList getHandlerList() {
         return handlerList;
     }
 
+    /**
+     * Gets field accessor of packet class.
+     * Listeners which are called for every
+     * packet can hold it instead of
+     * resolving the field each time.
+     *
+     * @param packetClass Packet class.
+     * @param fieldName   Field name.
+     * @param <T>         Value class.
+     * @return Field accessor.
+     */
+    @Nonnull
+    public static <T> FieldAccessor<T> accessor(@Nonnull Class<?> packetClass, @Nonnull String fieldName) {
+        Validate.notNull(packetClass, "packet class cannot be null!");
+        Validate.notNull(fieldName, "field name cannot be null!");
+        return ReflectionUtils.getAccessor(packetClass, fieldName);
+    }
+
 
     private final Player player;
     private final Object packet;
@@ -148,6 +167,20 @@ public <T> T getValue(@Nonnull String fieldName, @Nonnull Class<T> clazz) {
         return clazz.cast(this.getValue(fieldName));
     }
 
+    /**
+     * Gets value from field in packet
+     * with a resolved accessor.
+     *
+     * @param accessor Field accessor.
+     * @param <T>      Value class.
+     * @return Value from field.
+     */
+    @Nonnull
+    public <T> T getValue(@Nonnull FieldAccessor<T> accessor) {
+        Validate.notNull(accessor, "accessor cannot be null!");
+        return Validate.notNull(accessor.get(this.packet), "field cannot be null!");
+    }
+
     /**
      * Packet types.
      */
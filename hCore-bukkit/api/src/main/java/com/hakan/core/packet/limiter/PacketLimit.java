@@ -0,0 +1,79 @@
+package com.hakan.core.packet.limiter;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * PacketLimit class to define token
+ * bucket limit of an incoming packet.
+ */
+public final class PacketLimit {
+
+    private final String packetName;
+    private final int capacity;
+    private final double refill;
+    private final boolean drop;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param packetName Simple class name of packet.
+     * @param capacity   Maximum amount of packets in a burst.
+     * @param refill     Amount of packets allowed per second.
+     * @param drop       If true, exceeding packets are dropped, otherwise
+     *                   they are only dispatched to sync subscriptions,
+     *                   which can still cancel them.
+     */
+    public PacketLimit(@Nonnull String packetName, int capacity, double refill, boolean drop) {
+        Validate.isTrue(capacity <= 0, "capacity must be positive!");
+        Validate.isTrue(refill <= 0, "refill must be positive!");
+        this.packetName = Validate.notNull(packetName, "packet name cannot be null!");
+        this.capacity = capacity;
+        this.refill = refill;
+        this.drop = drop;
+    }
+
+    /**
+     * Gets simple class name of packet.
+     *
+     * @return Packet name.
+     */
+    @Nonnull
+    public String getPacketName() {
+        return this.packetName;
+    }
+
+    /**
+     * Gets maximum amount of packets
+     * which can be received in a burst.
+     *
+     * @return Capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets amount of packets which
+     * are allowed per second.
+     *
+     * @return Refill rate.
+     */
+    public double getRefill() {
+        return this.refill;
+    }
+
+    /**
+     * Checks exceeding packets are dropped.
+     * If not, they are dispatched only to sync
+     * subscriptions, which can still cancel
+     * them. Async subscriptions and PacketEvent
+     * listeners are skipped.
+     *
+     * @return If dropped, returns true.
+     */
+    public boolean isDrop() {
+        return this.drop;
+    }
+}
@@ -0,0 +1,175 @@
+package com.hakan.core.packet.limiter;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PacketLimiter class to limit incoming
+ * packets of a player per packet type
+ * with token buckets. There is no limit
+ * by default, limits are opt-in.
+ */
+public final class PacketLimiter {
+
+    private static final Map<Class<?>, String> names = new ConcurrentHashMap<>();
+    private static final Map<String, PacketLimit> limits = new ConcurrentHashMap<>();
+    private static final AtomicLong totalThrottled = new AtomicLong();
+
+    /**
+     * Gets limits.
+     *
+     * @return Limits.
+     */
+    @Nonnull
+    public static Collection<PacketLimit> getLimits() {
+        return Collections.unmodifiableCollection(limits.values());
+    }
+
+    /**
+     * Finds limit of packet.
+     *
+     * @param packetName Simple class name of packet.
+     * @return Limit.
+     */
+    @Nonnull
+    public static Optional<PacketLimit> findLimit(@Nonnull String packetName) {
+        return Optional.ofNullable(limits.get(Validate.notNull(packetName, "packet name cannot be null!")));
+    }
+
+    /**
+     * Sets limit of packet. If there
+     * is already a limit for the packet,
+     * it is replaced.
+     *
+     * @param limit Limit.
+     */
+    public static void setLimit(@Nonnull PacketLimit limit) {
+        Validate.notNull(limit, "limit cannot be null!");
+        limits.put(limit.getPacketName(), limit);
+    }
+
+    /**
+     * Removes limit of packet.
+     *
+     * @param packetName Simple class name of packet.
+     */
+    public static void removeLimit(@Nonnull String packetName) {
+        limits.remove(Validate.notNull(packetName, "packet name cannot be null!"));
+    }
+
+    /**
+     * Gets total amount of packets
+     * which are throttled.
+     *
+     * @return Total throttled packets.
+     */
+    public static long getTotalThrottled() {
+        return totalThrottled.get();
+    }
+
+
+    private final Map<String, Bucket> buckets;
+    private final Map<String, AtomicLong> throttled;
+
+    /**
+     * Creates new instance of this class.
+     */
+    public PacketLimiter() {
+        this.buckets = new HashMap<>();
+        this.throttled = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets amount of throttled packets
+     * per packet name.
+     *
+     * @return Throttled packets.
+     */
+    @Nonnull
+    public Map<String, Long> getThrottled() {
+        Map<String, Long> throttled = new HashMap<>();
+        this.throttled.forEach((name, count) -> throttled.put(name, count.get()));
+        return throttled;
+    }
+
+    /**
+     * Gets amount of throttled packets
+     * of the packet name.
+     *
+     * @param packetName Simple class name of packet.
+     * @return Throttled packets.
+     */
+    public long getThrottled(@Nonnull String packetName) {
+        AtomicLong count = this.throttled.get(Validate.notNull(packetName, "packet name cannot be null!"));
+        return (count != null) ? count.get() : 0;
+    }
+
+    /**
+     * Acquires a token for the packet.
+     * It must be called from the event
+     * loop of the channel.
+     *
+     * @param packet Packet.
+     * @return If packet exceeds its limit, the limit. Otherwise, null.
+     */
+    @Nullable
+    public PacketLimit acquire(@Nonnull Object packet) {
+        if (limits.isEmpty())
+            return null;
+
+        String name = names.computeIfAbsent(packet.getClass(), Class::getSimpleName);
+        PacketLimit limit = limits.get(name);
+        if (limit == null)
+            return null;
+
+        Bucket bucket = this.buckets.get(name);
+        if (bucket == null || bucket.limit != limit) {
+            bucket = new Bucket(limit);
+            this.buckets.put(name, bucket);
+        }
+
+        if (bucket.tryAcquire())
+            return null;
+
+        totalThrottled.incrementAndGet();
+        this.throttled.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        return limit;
+    }
+
+
+    /**
+     * Token bucket of a packet type.
+     */
+    private static final class Bucket {
+
+        private final PacketLimit limit;
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(@Nonnull PacketLimit limit) {
+            this.limit = limit;
+            this.tokens = limit.getCapacity();
+            this.lastRefill = System.nanoTime();
+        }
+
+        private boolean tryAcquire() {
+            long now = System.nanoTime();
+            this.tokens = Math.min(this.limit.getCapacity(), this.tokens + (now - this.lastRefill) * this.limit.getRefill() / 1_000_000_000D);
+            this.lastRefill = now;
+
+            if (this.tokens < 1)
+                return false;
+            this.tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hakan.core.packet.player;
+
+import com.hakan.core.utils.Validate;
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.Nonnull;
+
+/**
+ * EncodedPacket class to keep the packet
+ * together with its encoded bytes, so queued
+ * bytes can still be coalesced, prioritized
+ * and captured by their packet.
+ */
+public final class EncodedPacket {
+
+    private final Object packet;
+    private final ByteBuf buf;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param packet Packet.
+     * @param buf    Encoded bytes of packet.
+     */
+    public EncodedPacket(@Nonnull Object packet, @Nonnull ByteBuf buf) {
+        this.packet = Validate.notNull(packet, "packet cannot be null!");
+        this.buf = Validate.notNull(buf, "buf cannot be null!");
+    }
+
+    /**
+     * Unwraps the packet if it is
+     * an encoded packet.
+     *
+     * @param packet Packet or encoded packet.
+     * @return Packet.
+     */
+    @Nonnull
+    public static Object unwrap(@Nonnull Object packet) {
+        return (packet instanceof EncodedPacket) ? ((EncodedPacket) packet).packet : packet;
+    }
+
+    /**
+     * Gets packet.
+     *
+     * @return Packet.
+     */
+    @Nonnull
+    public Object getPacket() {
+        return this.packet;
+    }
+
+    /**
+     * Gets encoded bytes of packet.
+     *
+     * @return Encoded bytes.
+     */
+    @Nonnull
+    public ByteBuf getBuf() {
+        return this.buf;
+    }
+
+    /**
+     * Creates a copy which shares the same
+     * bytes and retains them, so it can be
+     * written to another channel.
+     *
+     * @return Encoded packet.
+     */
+    @Nonnull
+    public EncodedPacket duplicate() {
+        return new EncodedPacket(this.packet, this.buf.duplicate().retain());
+    }
+
+    /**
+     * Releases encoded bytes.
+     */
+    public void release() {
+        this.buf.release();
+    }
+}
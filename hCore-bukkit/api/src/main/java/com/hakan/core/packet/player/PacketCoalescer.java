@@ -0,0 +1,225 @@
+package com.hakan.core.packet.player;
+
+import com.hakan.core.utils.FieldAccessor;
+import com.hakan.core.utils.ReflectionUtils;
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * PacketCoalescer class to collapse
+ * redundant entity updates which are
+ * queued in the same tick.
+ */
+public final class PacketCoalescer {
+
+    private static final Set<String> COALESCIBLES = new HashSet<>(Arrays.asList(
+            "PacketPlayOutEntityTeleport",
+            "PacketPlayOutEntityMetadata",
+            "PacketPlayOutEntityHeadRotation",
+            "PacketPlayOutEntityLook"
+    ));
+    private static final String METADATA = "PacketPlayOutEntityMetadata";
+    private static final Map<Class<?>, Optional<FieldAccessor<Integer>>> entityIDs = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Optional<FieldAccessor<List<?>>>> values = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Optional<Function<Object, Integer>>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Coalesces given packets. Only the last
+     * teleport, head rotation and look packet
+     * of each entity is kept. Metadata packets
+     * are deltas, so a metadata packet is only
+     * removed if later ones of the same entity
+     * overwrite all of its values. Encoded
+     * packets are coalesced by the packet
+     * they were encoded from. Removed packets
+     * are released and replaced with null.
+     *
+     * @param packets Packets.
+     */
+    public static void coalesce(@Nonnull List<Object> packets) {
+        Validate.notNull(packets, "packets cannot be null!");
+        if (packets.size() < 2)
+            return;
+
+        Map<Class<?>, Set<Integer>> seen = new HashMap<>();
+        Map<Integer, Set<Integer>> overwritten = new HashMap<>();
+        for (int i = packets.size() - 1; i >= 0; i--) {
+            Object queued = packets.get(i);
+            if (queued == null)
+                continue;
+
+            Object packet = EncodedPacket.unwrap(queued);
+            Optional<FieldAccessor<Integer>> accessor = PacketCoalescer.findEntityID(packet.getClass());
+            if (!accessor.isPresent())
+                continue;
+
+            if (packet.getClass().getSimpleName().equals(METADATA)) {
+                Set<Integer> indexes = PacketCoalescer.readIndexes(packet);
+                if (indexes == null)
+                    continue;
+
+                Set<Integer> entityIndexes = overwritten.computeIfAbsent(accessor.get().get(packet), id -> new HashSet<>());
+                if (entityIndexes.containsAll(indexes))
+                    PacketCoalescer.remove(packets, i);
+                else
+                    entityIndexes.addAll(indexes);
+                continue;
+            }
+
+            Set<Integer> entities = seen.computeIfAbsent(packet.getClass(), clazz -> new HashSet<>());
+            if (!entities.add(accessor.get().get(packet)))
+                PacketCoalescer.remove(packets, i);
+        }
+    }
+
+    /**
+     * Replaces packet at the index with
+     * null and releases it.
+     *
+     * @param packets Packets.
+     * @param index   Index.
+     */
+    private static void remove(@Nonnull List<Object> packets, int index) {
+        PacketPlayer.release(packets.set(index, null));
+    }
+
+    /**
+     * Reads watcher indexes of metadata packet.
+     *
+     * @param packet Metadata packet.
+     * @return Indexes, or null if they cannot be read.
+     */
+    @Nullable
+    private static Set<Integer> readIndexes(@Nonnull Object packet) {
+        Optional<FieldAccessor<List<?>>> accessor = values.computeIfAbsent(packet.getClass(), PacketCoalescer::findValues);
+        if (!accessor.isPresent())
+            return null;
+
+        try {
+            List<?> list = accessor.get().get(packet);
+            if (list == null)
+                return null;
+
+            Set<Integer> result = new HashSet<>();
+            for (Object value : list) {
+                Optional<Function<Object, Integer>> index = indexes.computeIfAbsent(value.getClass(), PacketCoalescer::findIndex);
+                if (!index.isPresent())
+                    return null;
+                result.add(index.get().apply(value));
+            }
+            return result;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds watcher value list accessor of
+     * metadata packet class. It is the first
+     * list field of the packet.
+     *
+     * @param packetClass Packet class.
+     * @return Value list accessor.
+     */
+    @Nonnull
+    private static Optional<FieldAccessor<List<?>>> findValues(@Nonnull Class<?> packetClass) {
+        for (Field field : PacketCoalescer.getFields(packetClass))
+            if (List.class.isAssignableFrom(field.getType()))
+                return Optional.of(ReflectionUtils.getAccessor(field.getDeclaringClass(), field.getName()));
+        return Optional.empty();
+    }
+
+    /**
+     * Finds watcher index function of value
+     * class. Value either starts with its
+     * index, starts with its type and index
+     * (1.8), or starts with an object which
+     * holds the index (1.9 - 1.19.2).
+     *
+     * @param valueClass Value class.
+     * @return Index function.
+     */
+    @Nonnull
+    private static Optional<Function<Object, Integer>> findIndex(@Nonnull Class<?> valueClass) {
+        List<Field> fields = PacketCoalescer.getFields(valueClass);
+        if (fields.isEmpty())
+            return Optional.empty();
+
+        Field first = fields.get(0);
+        if (first.getType() == int.class) {
+            Field index = (fields.size() > 1 && fields.get(1).getType() == int.class) ? fields.get(1) : first;
+            FieldAccessor<Integer> accessor = ReflectionUtils.getAccessor(index.getDeclaringClass(), index.getName());
+            return Optional.of(accessor::get);
+        }
+
+        for (Field field : PacketCoalescer.getFields(first.getType())) {
+            if (field.getType() == int.class) {
+                FieldAccessor<Object> holder = ReflectionUtils.getAccessor(first.getDeclaringClass(), first.getName());
+                FieldAccessor<Integer> accessor = ReflectionUtils.getAccessor(field.getDeclaringClass(), field.getName());
+                return Optional.of(value -> accessor.get(holder.get(value)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets non-static fields of class
+     * in declaration order.
+     *
+     * @param clazz Class.
+     * @return Fields.
+     */
+    @Nonnull
+    private static List<Field> getFields(@Nonnull Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields())
+            if (!Modifier.isStatic(field.getModifiers()))
+                fields.add(field);
+        return fields;
+    }
+
+    /**
+     * Finds entity id accessor of packet class
+     * if the packet is coalescible. Entity id
+     * is the first int field of the packet.
+     *
+     * @param packetClass Packet class.
+     * @return Entity id accessor.
+     */
+    @Nonnull
+    private static Optional<FieldAccessor<Integer>> findEntityID(@Nonnull Class<?> packetClass) {
+        Optional<FieldAccessor<Integer>> accessor = entityIDs.get(packetClass);
+        if (accessor != null)
+            return accessor;
+
+        accessor = Optional.empty();
+        if (COALESCIBLES.contains(packetClass.getSimpleName())) {
+            search:
+            for (Class<?> clazz = packetClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (field.getType() == int.class && !Modifier.isStatic(field.getModifiers())) {
+                        accessor = Optional.of(ReflectionUtils.getAccessor(clazz, field.getName()));
+                        break search;
+                    }
+                }
+            }
+        }
+
+        entityIDs.put(packetClass, accessor);
+        return accessor;
+    }
+}
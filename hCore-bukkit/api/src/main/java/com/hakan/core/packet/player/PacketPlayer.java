@@ -1,10 +1,25 @@
 package com.hakan.core.packet.player;
 
+import com.hakan.core.packet.PacketHandler;
+import com.hakan.core.packet.capture.PacketCapture;
+import com.hakan.core.packet.capture.PacketCaptureHandler;
+import com.hakan.core.packet.limiter.PacketLimiter;
 import com.hakan.core.utils.Validate;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.util.ReferenceCountUtil;
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * PacketPlayer class to send
@@ -18,6 +33,15 @@ public abstract class PacketPlayer {
     protected final Player player;
     protected ChannelPipeline pipeline;
 
+    private final PacketLimiter limiter;
+    private final Queue<Object> queue;
+    private final AtomicInteger queued;
+    private final AtomicBoolean flushing;
+    private final Queue<Object> deferred;
+    private final AtomicInteger deferredCount;
+    private final AtomicLong dropped;
+    private volatile PacketCaptureHandler capture;
+
     /**
      * Creates new instance of this class.
      *
@@ -25,6 +49,13 @@ public abstract class PacketPlayer {
      */
     public PacketPlayer(@Nonnull Player player) {
         this.player = Validate.notNull(player, "player cannot be null!");
+        this.limiter = new PacketLimiter();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.flushing = new AtomicBoolean();
+        this.deferred = new ConcurrentLinkedQueue<>();
+        this.deferredCount = new AtomicInteger();
+        this.dropped = new AtomicLong();
     }
 
     /**
@@ -47,6 +78,323 @@ public final ChannelPipeline getPipeline() {
         return this.pipeline;
     }
 
+    /**
+     * Gets inbound packet limiter.
+     *
+     * @return Packet limiter.
+     */
+    @Nonnull
+    public final PacketLimiter getLimiter() {
+        return this.limiter;
+    }
+
+    /**
+     * Gets capture handler if
+     * traffic is being captured.
+     *
+     * @return Capture handler.
+     */
+    @Nullable
+    public final PacketCaptureHandler getCapture() {
+        return this.capture;
+    }
+
+    /**
+     * Starts capturing traffic of player.
+     * Capture handlers are placed around
+     * the packet codec of the pipeline.
+     *
+     * @param capture Capture.
+     */
+    public final void startCapture(@Nonnull PacketCapture capture) {
+        Validate.notNull(capture, "capture cannot be null!");
+        if (this.pipeline == null)
+            return;
+
+        this.stopCapture();
+        PacketCaptureHandler handler = new PacketCaptureHandler(capture, this.player.getUniqueId());
+        if (handler.register(this.pipeline))
+            this.capture = handler;
+    }
+
+    /**
+     * Stops capturing traffic of player.
+     */
+    public final void stopCapture() {
+        PacketCaptureHandler handler = this.capture;
+        if (handler == null)
+            return;
+
+        this.capture = null;
+        if (this.pipeline != null)
+            handler.unregister(this.pipeline);
+    }
+
+    /**
+     * Gets amount of queued packets
+     * which are waiting to be flushed.
+     *
+     * @return Amount of queued packets.
+     */
+    public final int getQueued() {
+        return this.queued.get();
+    }
+
+    /**
+     * Gets amount of cosmetic and effect
+     * packets which are deferred because the
+     * channel is not writable.
+     *
+     * @return Amount of deferred packets.
+     */
+    public final int getDeferred() {
+        return this.deferredCount.get();
+    }
+
+    /**
+     * Gets queue depth which is the sum
+     * of queued and deferred packets.
+     *
+     * @return Queue depth.
+     */
+    public final int getQueueDepth() {
+        return this.queued.get() + this.deferredCount.get();
+    }
+
+    /**
+     * Gets amount of effect packets
+     * which are dropped because the
+     * channel was not writable.
+     *
+     * @return Amount of dropped packets.
+     */
+    public final long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Gets amount of bytes which are
+     * waiting in the outbound buffer
+     * of channel.
+     *
+     * @return Pending bytes.
+     */
+    public final long getPendingBytes() {
+        if (this.pipeline == null)
+            return 0;
+
+        try {
+            ChannelOutboundBuffer buffer = this.pipeline.channel().unsafe().outboundBuffer();
+            return (buffer != null) ? buffer.totalPendingWriteBytes() : 0;
+        } catch (NoSuchMethodError e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Checks channel of player is writable.
+     *
+     * @return If writable, returns true.
+     */
+    public final boolean isWritable() {
+        return this.pipeline == null || this.pipeline.channel().isWritable();
+    }
+
+    /**
+     * Sends packets to player. If batching is
+     * enabled, channel is not writable or there
+     * are deferred packets, packets are queued
+     * instead of being sent directly, so they
+     * are not written ahead of older ones.
+     *
+     * @param packets Packets.
+     */
+    public final void post(@Nonnull Object... packets) {
+        if (this.isQueueing()) this.queue(packets);
+        else this.send(packets);
+    }
+
+    /**
+     * Queues packets to be written to
+     * channel and flushed all at once.
+     * If queue reaches the batch threshold,
+     * it is flushed immediately.
+     *
+     * @param packets Packets.
+     */
+    public final void queue(@Nonnull Object... packets) {
+        Validate.notNull(packets, "packets cannot be null!");
+
+        if (!this.player.isOnline()) {
+            return;
+        } else if (this.pipeline == null) {
+            this.send(packets);
+            return;
+        }
+
+        for (Object packet : packets)
+            this.queue.add(packet);
+        PacketHandler.findBatch().ifPresent(batch -> batch.add(this));
+        if (this.queued.addAndGet(packets.length) >= PacketHandler.getBatchThreshold())
+            this.flush();
+    }
+
+    /**
+     * Writes encoded packet to channel directly
+     * without going through the connection
+     * of player. If batching is enabled, channel
+     * is not writable or there are deferred
+     * packets, it is queued with its packet, so
+     * it is coalesced, prioritized and ordered
+     * like other packets. While capturing, it
+     * is always written by the event loop, so
+     * capture can pair its bytes with it.
+     *
+     * @param packet Encoded packet.
+     */
+    public final void write(@Nonnull EncodedPacket packet) {
+        Validate.notNull(packet, "packet cannot be null!");
+
+        if (!this.player.isOnline() || this.pipeline == null) {
+            packet.release();
+            return;
+        } else if (this.isQueueing()) {
+            this.queue(packet);
+            return;
+        } else if (this.capture != null) {
+            this.queue(packet);
+            this.flush();
+            return;
+        }
+
+        Channel channel = this.pipeline.channel();
+        channel.writeAndFlush(packet.getBuf(), channel.voidPromise());
+    }
+
+    /**
+     * Writes queued packets to channel
+     * in one event loop task, then
+     * flushes the channel once. If channel
+     * is not writable, cosmetic and effect
+     * packets are deferred to the next flush.
+     * When deferred packets exceed the limit,
+     * the oldest effect packets are dropped
+     * and the oldest cosmetic ones are
+     * written anyway.
+     */
+    public final void flush() {
+        if (this.pipeline == null)
+            return;
+        if (this.queued.get() == 0 && (this.deferredCount.get() == 0 || !this.isWritable()))
+            return;
+        if (!this.flushing.compareAndSet(false, true))
+            return;
+
+        Channel channel = this.pipeline.channel();
+        channel.eventLoop().execute(() -> {
+            this.flushing.set(false);
+
+            List<Object> packets = new ArrayList<>(this.deferredCount.get() + this.queued.get());
+            for (Object packet = this.deferred.poll(); packet != null; packet = this.deferred.poll())
+                packets.add(packet);
+            this.deferredCount.addAndGet(-packets.size());
+
+            int deferred = packets.size();
+            for (Object packet = this.queue.poll(); packet != null; packet = this.queue.poll())
+                packets.add(packet);
+            this.queued.addAndGet(-(packets.size() - deferred));
+
+            if (PacketHandler.isCoalescing())
+                PacketCoalescer.coalesce(packets);
+
+            int written = 0;
+            boolean open = channel.isOpen();
+            boolean writable = channel.isWritable();
+            for (Object packet : packets) {
+                if (packet == null) {
+                    continue;
+                } else if (!open) {
+                    PacketPlayer.release(packet);
+                    continue;
+                } else if (!writable && PacketPriority.of(packet).compareTo(PacketPriority.COSMETIC) >= 0) {
+                    this.deferred.add(packet);
+                    this.deferredCount.incrementAndGet();
+                    continue;
+                }
+
+                this.write(channel, packet);
+                written++;
+            }
+
+            while (this.deferredCount.get() > PacketHandler.getMaxDeferred()) {
+                Object packet = this.deferred.poll();
+                this.deferredCount.decrementAndGet();
+                if (!open || PacketPriority.of(packet) == PacketPriority.EFFECT) {
+                    PacketPlayer.release(packet);
+                    this.dropped.incrementAndGet();
+                } else {
+                    this.write(channel, packet);
+                    written++;
+                }
+            }
+
+            if (written > 0)
+                channel.flush();
+        });
+    }
+
+    /**
+     * Clears queued and deferred packets.
+     */
+    public final void clearQueue() {
+        for (Object packet = this.queue.poll(); packet != null; packet = this.queue.poll())
+            PacketPlayer.release(packet);
+        for (Object packet = this.deferred.poll(); packet != null; packet = this.deferred.poll())
+            PacketPlayer.release(packet);
+        this.queued.set(0);
+        this.deferredCount.set(0);
+    }
+
+    /**
+     * Checks packets should be queued
+     * instead of being sent directly.
+     *
+     * @return If queueing, returns true.
+     */
+    private boolean isQueueing() {
+        return PacketHandler.isBatching() || !this.isWritable() || this.deferredCount.get() > 0;
+    }
+
+    /**
+     * Writes queued packet to channel on the
+     * event loop. Encoded packets are written
+     * as their bytes.
+     *
+     * @param channel Channel.
+     * @param packet  Packet.
+     */
+    private void write(@Nonnull Channel channel, @Nonnull Object packet) {
+        if (!(packet instanceof EncodedPacket)) {
+            channel.write(packet, channel.voidPromise());
+            return;
+        }
+
+        EncodedPacket encoded = (EncodedPacket) packet;
+        PacketCaptureHandler capture = this.capture;
+        if (capture != null)
+            capture.onEncoded(encoded.getPacket());
+        channel.write(encoded.getBuf(), channel.voidPromise());
+    }
+
+    /**
+     * Releases queued packet.
+     *
+     * @param packet Packet.
+     */
+    static void release(@Nonnull Object packet) {
+        if (packet instanceof EncodedPacket) ((EncodedPacket) packet).release();
+        else ReferenceCountUtil.release(packet);
+    }
 
     /**
      * Sends packet to player.
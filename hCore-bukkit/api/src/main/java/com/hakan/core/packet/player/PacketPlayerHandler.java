@@ -0,0 +1,73 @@
+package com.hakan.core.packet.player;
+
+import com.hakan.core.packet.bus.PacketBus;
+import com.hakan.core.packet.capture.PacketCaptureHandler;
+import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.packet.limiter.PacketLimit;
+import com.hakan.core.utils.Validate;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+
+import javax.annotation.Nonnull;
+
+/**
+ * PacketPlayerHandler class to listen
+ * packets on the channel of player.
+ */
+public final class PacketPlayerHandler extends ChannelDuplexHandler {
+
+    private final PacketPlayer packetPlayer;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param packetPlayer Packet player.
+     */
+    public PacketPlayerHandler(@Nonnull PacketPlayer packetPlayer) {
+        this.packetPlayer = Validate.notNull(packetPlayer, "packet player cannot be null!");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext channelHandlerContext, Object msg) throws Exception {
+        PacketCaptureHandler capture = this.packetPlayer.getCapture();
+        if (capture != null)
+            capture.onRead(msg);
+
+        PacketLimit limit = this.packetPlayer.getLimiter().acquire(msg);
+        if (limit != null) {
+            if (limit.isDrop() || PacketBus.dispatchSync(this.packetPlayer.getPlayer(), msg, PacketEvent.Type.READ))
+                ReferenceCountUtil.release(msg);
+            else
+                super.channelRead(channelHandlerContext, msg);
+            return;
+        }
+
+        if (PacketBus.dispatch(this.packetPlayer.getPlayer(), msg, PacketEvent.Type.READ)) return;
+        super.channelRead(channelHandlerContext, msg);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(ChannelHandlerContext channelHandlerContext, Object o, ChannelPromise channelPromise) throws Exception {
+        if (!(o instanceof ByteBuf) && PacketBus.dispatch(this.packetPlayer.getPlayer(), o, PacketEvent.Type.WRITE)) return;
+        super.write(channelHandlerContext, o, channelPromise);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext channelHandlerContext) throws Exception {
+        if (channelHandlerContext.channel().isWritable())
+            this.packetPlayer.flush();
+        super.channelWritabilityChanged(channelHandlerContext);
+    }
+}
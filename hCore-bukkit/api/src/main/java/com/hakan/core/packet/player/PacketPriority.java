@@ -0,0 +1,70 @@
+package com.hakan.core.packet.player;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Priority of outgoing packets. When channel
+ * of player is not writable, cosmetic and
+ * effect packets are deferred while others
+ * are still written. Only effect packets
+ * can be dropped, since cosmetic packets
+ * carry state which is not sent again.
+ */
+public enum PacketPriority {
+
+    DESPAWN("EntityDestroy", "RemoveEntities", "PlayerInfoRemove"),
+    SPAWN("Spawn", "PlayerInfo", "Mount"),
+    NORMAL,
+    COSMETIC("EntityMetadata", "HeadRotation", "EntityLook", "EntityEquipment"),
+    EFFECT("Animation", "WorldParticles"),
+    ;
+
+    private static final Map<Class<?>, PacketPriority> priorities = new ConcurrentHashMap<>();
+
+    /**
+     * Gets priority of the packet. Encoded
+     * packets get the priority of the packet
+     * they were encoded from.
+     *
+     * @param packet Packet.
+     * @return Priority.
+     */
+    @Nonnull
+    public static PacketPriority of(@Nonnull Object packet) {
+        Validate.notNull(packet, "packet cannot be null!");
+        return priorities.computeIfAbsent(EncodedPacket.unwrap(packet).getClass(), PacketPriority::resolve);
+    }
+
+    /**
+     * Resolves priority of the packet class
+     * from its name.
+     *
+     * @param packetClass Packet class.
+     * @return Priority.
+     */
+    @Nonnull
+    private static PacketPriority resolve(@Nonnull Class<?> packetClass) {
+        String name = packetClass.getSimpleName();
+        for (PacketPriority priority : PacketPriority.values())
+            for (String keyword : priority.keywords)
+                if (name.contains(keyword))
+                    return priority;
+        return NORMAL;
+    }
+
+
+    private final String[] keywords;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param keywords Keywords of packet class names.
+     */
+    PacketPriority(@Nonnull String... keywords) {
+        this.keywords = keywords;
+    }
+}
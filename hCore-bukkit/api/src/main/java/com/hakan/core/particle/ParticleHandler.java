@@ -1,9 +1,9 @@
 package com.hakan.core.particle;
 
 import com.hakan.core.particle.wrapper.ParticleWrapper;
+import com.hakan.core.renderer.PlayerSnapshot;
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
@@ -52,12 +52,19 @@ public static void play(@Nonnull Collection<Player> players, @Nonnull Location l
     }
 
     /**
-     * Plays particle for all players.
+     * Plays particle for all players
+     * in the world of location. Players
+     * are read from the player snapshot.
      *
      * @param location Location.
      * @param particle Particle class.
      */
     public static void play(@Nonnull Location location, @Nonnull Particle particle) {
-        Bukkit.getOnlinePlayers().forEach(player -> ParticleHandler.play(player, location, particle));
+        Validate.notNull(location, "location cannot be null!");
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        for (int i = 0; i < snapshot.size(); i++)
+            if (snapshot.isIn(i, location.getWorld()))
+                ParticleHandler.play(snapshot.getPlayer(i), location, particle);
     }
 }
@@ -0,0 +1,285 @@
+package com.hakan.core.renderer;
+
+import com.hakan.core.HCore;
+import com.hakan.core.utils.Validate;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * PlayerSnapshot class to share positions
+ * of online players with async tasks.
+ * It is captured once per tick on the
+ * main thread into primitive arrays
+ * and never changes afterwards.
+ */
+public final class PlayerSnapshot {
+
+    private static volatile PlayerSnapshot current = new PlayerSnapshot(0, new Player[0]);
+
+    /**
+     * Initializes snapshots.
+     */
+    public static void initialize() {
+        PlayerSnapshot.capture();
+        HCore.syncScheduler().every(1)
+                .run(PlayerSnapshot::capture);
+    }
+
+    /**
+     * Gets snapshot of the last tick.
+     *
+     * @return Snapshot.
+     */
+    @Nonnull
+    public static PlayerSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Captures positions of online players
+     * and moves them in the renderer grid.
+     * It must be called from the main thread.
+     */
+    public static void capture() {
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        PlayerSnapshot previous = current;
+        PlayerSnapshot snapshot = new PlayerSnapshot(previous.tick + 1, online.toArray(new Player[0]));
+        RendererGrid.update(previous, snapshot);
+        current = snapshot;
+    }
+
+
+    private final long tick;
+    private final Player[] players;
+    private final UUID[] uids;
+    private final UUID[] worlds;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] eyeY;
+    private final float[] yaw;
+    private final float[] pitch;
+    private final Map<UUID, Integer> indexes;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param tick    Tick.
+     * @param players Players.
+     */
+    private PlayerSnapshot(long tick, @Nonnull Player[] players) {
+        int size = players.length;
+        this.tick = tick;
+        this.players = players;
+        this.uids = new UUID[size];
+        this.worlds = new UUID[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.eyeY = new double[size];
+        this.yaw = new float[size];
+        this.pitch = new float[size];
+        this.indexes = new HashMap<>(size * 2);
+
+        Location location = new Location(null, 0, 0, 0);
+        for (int i = 0; i < size; i++) {
+            Player player = players[i];
+            player.getLocation(location);
+
+            this.uids[i] = player.getUniqueId();
+            this.worlds[i] = location.getWorld().getUID();
+            this.x[i] = location.getX();
+            this.y[i] = location.getY();
+            this.z[i] = location.getZ();
+            this.eyeY[i] = location.getY() + player.getEyeHeight();
+            this.yaw[i] = location.getYaw();
+            this.pitch[i] = location.getPitch();
+            this.indexes.put(this.uids[i], i);
+        }
+    }
+
+    /**
+     * Gets tick of snapshot.
+     *
+     * @return Tick.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Gets amount of players.
+     *
+     * @return Amount of players.
+     */
+    public int size() {
+        return this.players.length;
+    }
+
+    /**
+     * Gets index of player.
+     *
+     * @param uid UID of player.
+     * @return Index of player, or -1 if absent.
+     */
+    public int indexOf(@Nonnull UUID uid) {
+        Integer index = this.indexes.get(Validate.notNull(uid, "uid cannot be null!"));
+        return (index != null) ? index : -1;
+    }
+
+    /**
+     * Gets player at index.
+     *
+     * @param index Index.
+     * @return Player.
+     */
+    @Nonnull
+    public Player getPlayer(int index) {
+        return this.players[index];
+    }
+
+    /**
+     * Gets uid of player at index.
+     *
+     * @param index Index.
+     * @return UID.
+     */
+    @Nonnull
+    public UUID getUID(int index) {
+        return this.uids[index];
+    }
+
+    /**
+     * Gets world uid of player at index.
+     *
+     * @param index Index.
+     * @return World UID.
+     */
+    @Nonnull
+    public UUID getWorld(int index) {
+        return this.worlds[index];
+    }
+
+    /**
+     * Gets x coordinate of player at index.
+     *
+     * @param index Index.
+     * @return X.
+     */
+    public double getX(int index) {
+        return this.x[index];
+    }
+
+    /**
+     * Gets y coordinate of player at index.
+     *
+     * @param index Index.
+     * @return Y.
+     */
+    public double getY(int index) {
+        return this.y[index];
+    }
+
+    /**
+     * Gets z coordinate of player at index.
+     *
+     * @param index Index.
+     * @return Z.
+     */
+    public double getZ(int index) {
+        return this.z[index];
+    }
+
+    /**
+     * Gets eye y coordinate of player at index.
+     *
+     * @param index Index.
+     * @return Eye y.
+     */
+    public double getEyeY(int index) {
+        return this.eyeY[index];
+    }
+
+    /**
+     * Gets yaw of player at index.
+     *
+     * @param index Index.
+     * @return Yaw.
+     */
+    public float getYaw(int index) {
+        return this.yaw[index];
+    }
+
+    /**
+     * Gets pitch of player at index.
+     *
+     * @param index Index.
+     * @return Pitch.
+     */
+    public float getPitch(int index) {
+        return this.pitch[index];
+    }
+
+    /**
+     * Checks player at index is
+     * in the world.
+     *
+     * @param index Index.
+     * @param world World.
+     * @return If in the world, returns true.
+     */
+    public boolean isIn(int index, @Nullable World world) {
+        return world != null && this.worlds[index].equals(world.getUID());
+    }
+
+    /**
+     * Calculates distance between player
+     * at index and the location. If they
+     * are in different worlds, returns -1.
+     *
+     * @param index    Index.
+     * @param location Location.
+     * @param useYAxis Use y-axis.
+     * @return Distance.
+     */
+    public double distance(int index, @Nonnull Location location, boolean useYAxis) {
+        if (!this.isIn(index, location.getWorld()))
+            return -1;
+
+        double x = this.x[index] - location.getX();
+        double y = (useYAxis) ? this.y[index] - location.getY() : 0;
+        double z = this.z[index] - location.getZ();
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Creates location of player at index.
+     *
+     * @param index Index.
+     * @return Location.
+     */
+    @Nonnull
+    public Location getLocation(int index) {
+        return new Location(Bukkit.getWorld(this.worlds[index]), this.x[index], this.y[index], this.z[index], this.yaw[index], this.pitch[index]);
+    }
+
+    /**
+     * Creates eye location of player at index.
+     *
+     * @param index Index.
+     * @return Eye location.
+     */
+    @Nonnull
+    public Location getEyeLocation(int index) {
+        return new Location(Bukkit.getWorld(this.worlds[index]), this.x[index], this.eyeY[index], this.z[index], this.yaw[index], this.pitch[index]);
+    }
+}
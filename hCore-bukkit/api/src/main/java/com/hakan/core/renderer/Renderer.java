@@ -1,16 +1,18 @@
 package com.hakan.core.renderer;
 
 import com.hakan.core.utils.Validate;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 /**
@@ -21,12 +23,25 @@
 public final class Renderer {
 
     private double radius;
+    private double nearDistance;
+    private double midDistance;
+    private double viewCone;
+    private double viewConeCos;
+    private int spawnBudget;
+    private volatile int spawnCost;
     private boolean deleted;
     private boolean showEveryone;
     private boolean useYAxis;
     private Location location;
     private Set<UUID> viewers;
-    private Set<UUID> shownViewers;
+    private volatile Set<UUID> shownViewers;
+    private Object owner;
+    private Consumer<List<UUID>> leaveConsumer;
+    private Renderer parent;
+
+    private final Set<UUID> pending;
+    private final List<Renderer> children;
+    private final List<Player> candidates;
 
     private final Consumer<List<Player>> showConsumer;
     private final Consumer<List<Player>> hideConsumer;
@@ -48,15 +63,26 @@ public Renderer(@Nonnull Location location, double radius,
                     @Nonnull Consumer<List<Player>> hideConsumer,
                     @Nonnull Consumer<Renderer> deleteConsumer) {
         this.location = Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(location.getWorld(), "world of location cannot be null!");
         this.viewers = Validate.notNull(viewers, "viewers cannot be null!");
         this.showConsumer = Validate.notNull(showConsumer, "show consumer cannot be null!");
         this.hideConsumer = Validate.notNull(hideConsumer, "hide consumer cannot be null!");
         this.deleteConsumer = Validate.notNull(deleteConsumer, "delete consumer cannot be null!");
         this.radius = radius;
         this.shownViewers = new HashSet<>();
+        this.pending = new HashSet<>();
+        this.children = new CopyOnWriteArrayList<>();
+        this.candidates = new ArrayList<>();
         this.showEveryone = false;
         this.deleted = false;
         this.useYAxis = true;
+        this.spawnBudget = -1;
+        this.spawnCost = 1;
+        this.nearDistance = 10;
+        this.midDistance = 20;
+        this.viewCone = 0;
+        this.viewConeCos = -1;
+        RendererGrid.moveRenderer(this);
     }
 
     /**
@@ -94,9 +120,141 @@ public double getRadius() {
     @Nonnull
     public Renderer setRadius(double radius) {
         this.radius = radius;
+        if (!this.deleted) RendererGrid.moveRenderer(this);
+        RendererHandler.markDirty(this);
+        return this;
+    }
+
+    /**
+     * Gets max distance of near tier.
+     *
+     * @return Near distance.
+     */
+    public double getNearDistance() {
+        return this.nearDistance;
+    }
+
+    /**
+     * Gets max distance of mid tier.
+     *
+     * @return Mid distance.
+     */
+    public double getMidDistance() {
+        return this.midDistance;
+    }
+
+    /**
+     * Sets max distances of near and mid
+     * tiers. Viewers farther than mid
+     * distance are in far tier.
+     *
+     * @param nearDistance Near distance.
+     * @param midDistance  Mid distance.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer setTierDistances(double nearDistance, double midDistance) {
+        Validate.isTrue(nearDistance < 0, "near distance cannot be negative!");
+        Validate.isTrue(midDistance < nearDistance, "mid distance cannot be less than near distance!");
+        this.nearDistance = nearDistance;
+        this.midDistance = midDistance;
+        return this;
+    }
+
+    /**
+     * Gets view cone angle in degrees.
+     * 0 means view cone filter is disabled.
+     *
+     * @return View cone angle.
+     */
+    public double getViewCone() {
+        return this.viewCone;
+    }
+
+    /**
+     * Sets view cone angle in degrees. If it
+     * is enabled, cosmetic updates can be
+     * deferred for viewers who look away
+     * from the renderer, and delivered when
+     * it comes back into their view.
+     *
+     * @param viewCone View cone angle, 0 to disable.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer setViewCone(double viewCone) {
+        Validate.isTrue(viewCone < 0 || viewCone > 360, "view cone must be between 0 and 360!");
+        this.viewCone = viewCone;
+        this.viewConeCos = (viewCone == 0 || viewCone == 360) ? -1 : Math.cos(Math.toRadians(viewCone / 2));
+        return this;
+    }
+
+    /**
+     * Gets spawn budget of renderer. It is
+     * -1 if the global budget is used.
+     *
+     * @return Spawn budget.
+     */
+    public int getSpawnBudget() {
+        return this.spawnBudget;
+    }
+
+    /**
+     * Sets spawn budget of renderer which is max
+     * count of entities spawned to a player per
+     * tick. The renderer is shown to a player
+     * only if its spawn cost fits into what is
+     * left of the budget in this tick. 0 means
+     * unlimited, and -1 means the global
+     * budget is used.
+     *
+     * @param spawnBudget Spawn budget.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer setSpawnBudget(int spawnBudget) {
+        Validate.isTrue(spawnBudget < -1, "spawn budget cannot be less than -1!");
+        this.spawnBudget = spawnBudget;
         return this;
     }
 
+    /**
+     * Gets spawn cost of renderer which is
+     * count of entities it spawns when
+     * it is shown.
+     *
+     * @return Spawn cost.
+     */
+    public int getSpawnCost() {
+        return this.spawnCost;
+    }
+
+    /**
+     * Sets spawn cost of renderer which is
+     * count of entities it spawns when
+     * it is shown. It is spent from spawn
+     * budget of the player.
+     *
+     * @param spawnCost Spawn cost.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer setSpawnCost(int spawnCost) {
+        Validate.isTrue(spawnCost <= 0, "spawn cost must be positive!");
+        this.spawnCost = spawnCost;
+        return this;
+    }
+
+    /**
+     * Gets spawn budget which is
+     * applied to the renderer.
+     *
+     * @return Spawn budget, 0 if unlimited.
+     */
+    public int calculateSpawnBudget() {
+        return (this.spawnBudget == -1) ? RendererHandler.getSpawnBudget() : this.spawnBudget;
+    }
+
     /**
      * Checks use y-axis to calculate
      * location distance.
@@ -138,6 +296,7 @@ public boolean canEveryoneSee() {
     @Nonnull
     public Renderer showEveryone(boolean showEveryone) {
         this.showEveryone = showEveryone;
+        RendererHandler.markDirty(this);
         return this;
     }
 
@@ -159,10 +318,99 @@ public Location getLocation() {
      */
     @Nonnull
     public Renderer setLocation(@Nonnull Location location) {
-        this.location = Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(location.getWorld(), "world of location cannot be null!");
+
+        Location old = this.location;
+        this.location = location;
+        if (!this.deleted) RendererGrid.moveRenderer(this);
+        if (old.getBlockX() != location.getBlockX() || old.getBlockY() != location.getBlockY() || old.getBlockZ() != location.getBlockZ() || old.getWorld() != location.getWorld())
+            RendererHandler.markDirty(this);
+        return this;
+    }
+
+    /**
+     * Gets owner of renderer, such
+     * as hologram or npc.
+     *
+     * @return Owner.
+     */
+    @Nullable
+    public Object getOwner() {
+        return this.owner;
+    }
+
+    /**
+     * Sets owner of renderer.
+     *
+     * @param owner Owner.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer setOwner(@Nullable Object owner) {
+        this.owner = owner;
         return this;
     }
 
+    /**
+     * When viewers leave the renderer this
+     * consumer will be called with their UIDs.
+     * Unlike the hide consumer, it is also
+     * called for players who are offline.
+     *
+     * @param leaveConsumer Leave consumer.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer whenLeft(@Nonnull Consumer<List<UUID>> leaveConsumer) {
+        this.leaveConsumer = Validate.notNull(leaveConsumer, "leave consumer cannot be null!");
+        return this;
+    }
+
+    /**
+     * Gets parent renderer.
+     *
+     * @return Parent renderer.
+     */
+    @Nullable
+    public Renderer getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Sets parent renderer. A child renderer does
+     * not calculate visibility by itself; it is
+     * shown to and hidden from the same players
+     * as its parent, in the same pass. Viewers,
+     * radius and spawn budget of the child are
+     * ignored while it has a parent.
+     *
+     * @param parent Parent renderer, null to detach.
+     * @return This class.
+     */
+    @Nonnull
+    public Renderer setParent(@Nullable Renderer parent) {
+        for (Renderer renderer = parent; renderer != null; renderer = renderer.parent)
+            Validate.isTrue(renderer == this, "renderer cannot be a parent of itself!");
+
+        if (this.parent != null)
+            this.parent.children.remove(this);
+        this.parent = parent;
+        if (parent != null)
+            parent.children.add(this);
+        return this.render();
+    }
+
+    /**
+     * Gets child renderers.
+     *
+     * @return Child renderers.
+     */
+    @Nonnull
+    public List<Renderer> getChildren() {
+        return new ArrayList<>(this.children);
+    }
+
     /**
      * Gets shown viewers.
      *
@@ -175,19 +423,44 @@ public Set<UUID> getShownViewers() {
 
     /**
      * Gets shown viewers as player list.
+     * Players are resolved from the current
+     * snapshot, so it is safe to call from
+     * async threads.
      *
      * @return Shown viewers as player list.
      */
     @Nonnull
     public List<Player> getShownPlayers() {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
         List<Player> players = new ArrayList<>();
         this.shownViewers.forEach(uid -> {
-            Player player = Bukkit.getPlayer(uid);
+            Player player = Renderer.findPlayer(snapshot, uid);
             if (player != null) players.add(player);
         });
         return players;
     }
 
+    /**
+     * Gets shown viewers as player list
+     * whose tier is the given tier or nearer.
+     *
+     * @param tier Farthest tier.
+     * @return Shown viewers as player list.
+     */
+    @Nonnull
+    public List<Player> getShownPlayers(@Nonnull RendererTier tier) {
+        Validate.notNull(tier, "tier cannot be null!");
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        List<Player> players = new ArrayList<>();
+        for (UUID uid : this.shownViewers) {
+            int index = snapshot.indexOf(uid);
+            if (index != -1 && this.getTier(snapshot, index).compareTo(tier) <= 0)
+                players.add(snapshot.getPlayer(index));
+        }
+        return players;
+    }
+
     /**
      * Gets viewers.
      *
@@ -207,6 +480,7 @@ public Set<UUID> getViewers() {
     @Nonnull
     public Renderer setViewers(@Nonnull Set<UUID> viewers) {
         this.viewers = Validate.notNull(viewers, "viewers cannot be null!");
+        RendererHandler.markDirty(this);
         return this;
     }
 
@@ -233,6 +507,7 @@ public Renderer setViewers(@Nonnull List<Player> viewers) {
     @Nonnull
     public Renderer addViewer(@Nonnull UUID uid) {
         this.viewers.add(Validate.notNull(uid, "uid cannot be null!"));
+        RendererHandler.markDirty(this);
         return this;
     }
 
@@ -245,6 +520,7 @@ public Renderer addViewer(@Nonnull UUID uid) {
     @Nonnull
     public Renderer removeViewer(@Nonnull UUID uid) {
         this.viewers.remove(Validate.notNull(uid, "uid cannot be null!"));
+        RendererHandler.markDirty(this);
         return this;
     }
 
@@ -282,10 +558,17 @@ public boolean isDeleted() {
     /**
      * Deletes renderer.
      */
-    public Renderer delete() {
+    public synchronized Renderer delete() {
         if (this.deleteConsumer != null)
             this.deleteConsumer.accept(this);
         this.deleted = true;
+        RendererGrid.removeRenderer(this);
+        this.shownViewers.forEach(uid -> RendererGrid.setShown(uid, this, false));
+        this.pending.clear();
+
+        if (this.parent != null)
+            this.parent.children.remove(this);
+        this.children.forEach(Renderer::render);
         return this;
     }
 
@@ -296,15 +579,125 @@ public Renderer delete() {
      * @return If player can see the location, returns true.
      */
     public boolean canSee(@Nonnull UUID uid) {
-        Player player = Bukkit.getPlayer(Validate.notNull(uid, "uid cannot be null!"));
-        if (player == null)
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        return this.canSee(snapshot, snapshot.indexOf(Validate.notNull(uid, "uid cannot be null!")));
+    }
+
+    /**
+     * Checks player can see the location.
+     * Position of player is read from the
+     * snapshot of the last tick.
+     *
+     * @param player Player.
+     * @return If player can see the location, returns true.
+     */
+    public boolean canSee(@Nonnull Player player) {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        return this.canSee(snapshot, snapshot.indexOf(Validate.notNull(player, "player cannot be null!").getUniqueId()));
+    }
+
+    /**
+     * Checks player at index of the
+     * snapshot can see the location.
+     *
+     * @param snapshot Snapshot.
+     * @param index    Index of player.
+     * @return If player can see the location, returns true.
+     */
+    public boolean canSee(@Nonnull PlayerSnapshot snapshot, int index) {
+        if (index == -1)
             return false;
 
-        double distance = this.calculateDistance(player.getLocation());
+        double distance = snapshot.distance(index, this.location, this.useYAxis);
+        return distance != -1 && distance <= this.radius;
+    }
+
+    /**
+     * Gets tier of the player.
+     *
+     * @param uid UID of player.
+     * @return Tier, far if player is not found.
+     */
+    @Nonnull
+    public RendererTier getTier(@Nonnull UUID uid) {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        return this.getTier(snapshot, snapshot.indexOf(Validate.notNull(uid, "uid cannot be null!")));
+    }
+
+    /**
+     * Gets tier of the player.
+     *
+     * @param player Player.
+     * @return Tier, far if player is not found.
+     */
+    @Nonnull
+    public RendererTier getTier(@Nonnull Player player) {
+        return this.getTier(Validate.notNull(player, "player cannot be null!").getUniqueId());
+    }
+
+    /**
+     * Gets tier of the player at
+     * index of the snapshot.
+     *
+     * @param snapshot Snapshot.
+     * @param index    Index of player.
+     * @return Tier, far if player is not found.
+     */
+    @Nonnull
+    public RendererTier getTier(@Nonnull PlayerSnapshot snapshot, int index) {
+        if (index == -1)
+            return RendererTier.FAR;
+
+        double distance = snapshot.distance(index, this.location, this.useYAxis);
         if (distance == -1)
+            return RendererTier.FAR;
+        else if (distance <= this.nearDistance)
+            return RendererTier.NEAR;
+        else if (distance <= this.midDistance)
+            return RendererTier.MID;
+        return RendererTier.FAR;
+    }
+
+    /**
+     * Checks renderer is in view cone
+     * of the player.
+     *
+     * @param uid UID of player.
+     * @return If in view or view cone is disabled, returns true.
+     */
+    public boolean isInView(@Nonnull UUID uid) {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        return this.isInView(snapshot, snapshot.indexOf(Validate.notNull(uid, "uid cannot be null!")));
+    }
+
+    /**
+     * Checks renderer is in view cone of the
+     * player at index of the snapshot. Direction
+     * of player is read from snapshotted yaw
+     * and pitch.
+     *
+     * @param snapshot Snapshot.
+     * @param index    Index of player.
+     * @return If in view or view cone is disabled, returns true.
+     */
+    public boolean isInView(@Nonnull PlayerSnapshot snapshot, int index) {
+        if (this.viewConeCos == -1)
+            return true;
+        else if (index == -1 || !snapshot.isIn(index, this.location.getWorld()))
             return false;
 
-        return !(distance > this.radius);
+        double x = this.location.getX() - snapshot.getX(index);
+        double y = this.location.getY() - snapshot.getEyeY(index);
+        double z = this.location.getZ() - snapshot.getZ(index);
+        double length = Math.sqrt(x * x + y * y + z * z);
+        if (length < 1)
+            return true;
+
+        double yaw = Math.toRadians(snapshot.getYaw(index));
+        double pitch = Math.toRadians(snapshot.getPitch(index));
+        double horizontal = Math.cos(pitch);
+        double dot = -Math.sin(yaw) * horizontal * x - Math.sin(pitch) * y + Math.cos(yaw) * horizontal * z;
+        return dot / length >= this.viewConeCos;
     }
 
     /**
@@ -321,13 +714,16 @@ public double calculateDistance(@Nonnull Location target) {
         if (!target.getWorld().equals(this.location.getWorld()))
             return -1;
 
-        double xDis = Math.pow(target.getX() - this.location.getX(), 2);
-        double zDis = Math.pow(target.getZ() - this.location.getZ(), 2);
-        return (this.useYAxis) ? Math.sqrt(xDis + Math.pow(target.getY() - this.location.getY(), 2) + zDis) : Math.sqrt(xDis + zDis);
+        double x = target.getX() - this.location.getX();
+        double y = (this.useYAxis) ? target.getY() - this.location.getY() : 0;
+        double z = target.getZ() - this.location.getZ();
+        return Math.sqrt(x * x + y * y + z * z);
     }
 
     /**
-     * Calculates viewers.
+     * Calculates viewers. If everyone can see
+     * the renderer, only players in the chunks
+     * around it are returned.
      *
      * @return Viewers.
      */
@@ -337,61 +733,274 @@ public Set<UUID> calculateViewers() {
             return this.viewers;
 
         Set<UUID> viewers = new HashSet<>();
-        Bukkit.getOnlinePlayers()
-                .stream()
-                .filter(player -> player.getWorld().equals(this.location.getWorld()))
-                .map(Player::getUniqueId)
-                .forEach(viewers::add);
+        for (Player player : RendererGrid.getPlayersAround(this.location, this.radius))
+            viewers.add(player.getUniqueId());
         return viewers;
     }
 
     /**
-     * Renders the players.
+     * Renders the players. Only players who
+     * entered or left the radius are passed
+     * to the consumers, and nothing is
+     * allocated if visibility does not change.
+     * If a spawn budget is applied, shows are
+     * queued and sent nearest-first in the
+     * next ticks while hides are sent at once.
      *
      * @return This class.
      */
     @Nonnull
-    public Renderer render() {
+    public synchronized Renderer render() {
         if (this.deleted)
             return this;
+        else if (this.parent != null)
+            return this.inherit();
 
-        List<UUID> viewers = new ArrayList<>(this.calculateViewers());
-        List<UUID> oldShown = new ArrayList<>(this.shownViewers);
-        List<UUID> newShown = new ArrayList<>();
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
 
-        viewers.forEach(uid -> {
-            if (this.canSee(uid))
-                newShown.add(uid);
-        });
+        List<UUID> left = null;
+        List<Player> hide = null;
+        for (UUID uid : this.shownViewers) {
+            if (this.isVisible(snapshot, uid))
+                continue;
+
+            if (left == null) {
+                left = new ArrayList<>();
+                hide = new ArrayList<>();
+            }
+
+            left.add(uid);
+            Player player = Renderer.findPlayer(snapshot, uid);
+            if (player != null) hide.add(player);
+        }
 
-        if (this.hideConsumer != null) {
-            List<Player> hide = new ArrayList<>();
+        if (!this.pending.isEmpty())
+            this.pending.removeIf(uid -> !this.isVisible(snapshot, uid));
+
+        this.candidates.clear();
+        if (this.showEveryone) {
+            RendererGrid.collectPlayersAround(this.location, this.radius, this.candidates);
+        } else {
+            for (UUID uid : this.viewers) {
+                int index = snapshot.indexOf(uid);
+                if (index != -1) this.candidates.add(snapshot.getPlayer(index));
+            }
+        }
 
-            oldShown.forEach(uid -> {
-                if (!newShown.contains(uid)) {
-                    Player player = Bukkit.getPlayer(uid);
-                    if (player != null) hide.add(Bukkit.getPlayer(uid));
-                }
-            });
+        List<Player> show = null;
+        for (int i = 0; i < this.candidates.size(); i++) {
+            Player player = this.candidates.get(i);
+            UUID uid = player.getUniqueId();
+            if (this.shownViewers.contains(uid) || this.pending.contains(uid) || !this.canSee(snapshot, snapshot.indexOf(uid)))
+                continue;
 
-            if (hide.size() > 0)
-                this.hideConsumer.accept(hide);
+            if (show == null) show = new ArrayList<>();
+            show.add(player);
         }
+        this.candidates.clear();
 
-        if (this.showConsumer != null) {
-            List<Player> show = new ArrayList<>();
+        if (show != null && this.calculateSpawnBudget() != 0) {
+            for (Player player : show)
+                this.queueSpawn(snapshot, player.getUniqueId());
+            show = null;
+        }
 
-            newShown.forEach(uid -> {
-                if (!oldShown.contains(uid)) {
-                    show.add(Bukkit.getPlayer(uid));
-                }
-            });
+        if (left == null && show == null)
+            return this;
+        return this.apply(left, hide, show);
+    }
 
-            if (show.size() > 0)
-                this.showConsumer.accept(show);
+    /**
+     * Renders only the player. It shows or
+     * hides renderer for the player if its
+     * visibility changed.
+     *
+     * @param uid UID of player.
+     * @return This class.
+     */
+    @Nonnull
+    public synchronized Renderer render(@Nonnull UUID uid) {
+        Validate.notNull(uid, "uid cannot be null!");
+        if (this.deleted)
+            return this;
+        else if (this.parent != null)
+            return this.inherit();
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        boolean visible = this.isVisible(snapshot, uid);
+        if (!visible)
+            this.pending.remove(uid);
+        if (visible == this.shownViewers.contains(uid))
+            return this;
+        if (visible && this.calculateSpawnBudget() != 0) {
+            if (!this.pending.contains(uid))
+                this.queueSpawn(snapshot, uid);
+            return this;
         }
 
-        this.shownViewers = new HashSet<>(newShown);
+        Player player = Renderer.findPlayer(snapshot, uid);
+        List<Player> players = new ArrayList<>();
+        if (player != null)
+            players.add(player);
+
+        if (visible)
+            return this.apply(null, null, players);
+        return this.apply(Collections.singletonList(uid), players, null);
+    }
+
+    /**
+     * Shows renderer to the player if its
+     * spawn is still pending. It is called
+     * when the spawn budget of the player
+     * allows it.
+     *
+     * @param uid UID of player.
+     * @return If renderer is shown, returns true.
+     */
+    synchronized boolean spawn(@Nonnull UUID uid) {
+        if (this.deleted || !this.pending.remove(uid))
+            return false;
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        if (!this.isVisible(snapshot, uid))
+            return false;
+
+        List<Player> players = new ArrayList<>();
+        players.add(snapshot.getPlayer(snapshot.indexOf(uid)));
+        this.apply(null, null, players);
+        return true;
+    }
+
+    /**
+     * Shows child renderer to and hides it from
+     * the players whose visibility differs
+     * from its parent.
+     *
+     * @return This class.
+     */
+    @Nonnull
+    private Renderer inherit() {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        Set<UUID> parentViewers = this.parent.deleted ? Collections.emptySet() : this.parent.shownViewers;
+
+        List<UUID> left = null;
+        List<Player> hide = null;
+        for (UUID uid : this.shownViewers) {
+            if (parentViewers.contains(uid))
+                continue;
+
+            if (left == null) {
+                left = new ArrayList<>();
+                hide = new ArrayList<>();
+            }
+
+            left.add(uid);
+            Player player = Renderer.findPlayer(snapshot, uid);
+            if (player != null) hide.add(player);
+        }
+
+        List<Player> show = null;
+        for (UUID uid : parentViewers) {
+            if (this.shownViewers.contains(uid))
+                continue;
+
+            Player player = Renderer.findPlayer(snapshot, uid);
+            if (player == null)
+                continue;
+
+            if (show == null) show = new ArrayList<>();
+            show.add(player);
+        }
+
+        if (left == null && show == null)
+            return this;
+        return this.apply(left, hide, show);
+    }
+
+    /**
+     * Applies visibility changes to shown
+     * viewers, runs the consumers and
+     * renders the child renderers.
+     *
+     * @param left Viewers who left.
+     * @param hide Players to hide from.
+     * @param show Players to show to.
+     * @return This class.
+     */
+    @Nonnull
+    private Renderer apply(@Nullable List<UUID> left, @Nullable List<Player> hide, @Nullable List<Player> show) {
+        Set<UUID> shownViewers = new HashSet<>(this.shownViewers);
+        if (left != null) {
+            for (UUID uid : left) {
+                shownViewers.remove(uid);
+                RendererGrid.setShown(uid, this, false);
+            }
+        }
+        if (show != null) {
+            for (Player player : show) {
+                shownViewers.add(player.getUniqueId());
+                RendererGrid.setShown(player.getUniqueId(), this, true);
+            }
+        }
+        this.shownViewers = shownViewers;
+
+        if (hide != null && hide.size() > 0 && this.hideConsumer != null)
+            this.hideConsumer.accept(hide);
+        if (left != null && left.size() > 0 && this.leaveConsumer != null)
+            this.leaveConsumer.accept(left);
+        if (show != null && show.size() > 0 && this.showConsumer != null)
+            this.showConsumer.accept(show);
+
+        this.children.forEach(Renderer::render);
         return this;
     }
+
+    /**
+     * Checks spawn of renderer is
+     * pending for the player.
+     *
+     * @param uid UID of player.
+     * @return If pending, returns true.
+     */
+    synchronized boolean isPending(@Nonnull UUID uid) {
+        return this.pending.contains(uid);
+    }
+
+    /**
+     * Marks spawn of renderer as pending
+     * and queues it to the player.
+     *
+     * @param snapshot Snapshot.
+     * @param uid      UID of player.
+     */
+    private void queueSpawn(@Nonnull PlayerSnapshot snapshot, @Nonnull UUID uid) {
+        this.pending.add(uid);
+        RendererHandler.queueSpawn(uid, this, snapshot.distance(snapshot.indexOf(uid), this.location, this.useYAxis));
+    }
+
+    /**
+     * Checks renderer should be
+     * visible to the player.
+     *
+     * @param snapshot Snapshot.
+     * @param uid      UID of player.
+     * @return If visible, returns true.
+     */
+    private boolean isVisible(@Nonnull PlayerSnapshot snapshot, @Nonnull UUID uid) {
+        int index = snapshot.indexOf(uid);
+        return index != -1 && (this.showEveryone || this.viewers.contains(uid)) && this.canSee(snapshot, index);
+    }
+
+    /**
+     * Finds player in the snapshot.
+     *
+     * @param snapshot Snapshot.
+     * @param uid      UID of player.
+     * @return Player, or null if it is not in the snapshot.
+     */
+    @Nullable
+    private static Player findPlayer(@Nonnull PlayerSnapshot snapshot, @Nonnull UUID uid) {
+        int index = snapshot.indexOf(uid);
+        return (index != -1) ? snapshot.getPlayer(index) : null;
+    }
 }
@@ -0,0 +1,393 @@
+package com.hakan.core.renderer;
+
+import com.hakan.core.HCore;
+import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.LongRegistry;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * RendererGrid class to index renderers
+ * and players by chunk, so renderers
+ * only test the players in the chunks
+ * around them.
+ */
+public final class RendererGrid {
+
+    private static final Map<UUID, LongRegistry<Set<Renderer>>> renderers = new ConcurrentHashMap<>();
+    private static final Map<UUID, LongRegistry<Set<Player>>> players = new ConcurrentHashMap<>();
+    private static final Map<Renderer, Cell> rendererCells = new ConcurrentHashMap<>();
+    private static final Map<UUID, Cell> playerCells = new ConcurrentHashMap<>();
+    private static final Map<UUID, Set<Renderer>> shown = new ConcurrentHashMap<>();
+    private static final Map<Renderer, Double> rendererRadii = new HashMap<>();
+    private static final TreeMap<Double, Integer> radii = new TreeMap<>();
+    private static volatile double maxRadius = 0;
+
+    /**
+     * Initializes the grid.
+     */
+    public static void initialize() {
+        HCore.registerEvent(PlayerQuitEvent.class)
+                .priority(EventPriority.MONITOR)
+                .consume(event -> RendererGrid.removePlayer(event.getPlayer()));
+    }
+
+    /**
+     * Gets the largest radius
+     * of indexed renderers.
+     *
+     * @return Max radius.
+     */
+    public static double getMaxRadius() {
+        return maxRadius;
+    }
+
+    /**
+     * Gets renderers around the location
+     * whose center is in the radius.
+     *
+     * @param location Location.
+     * @param radius   Radius.
+     * @return Renderers.
+     */
+    @Nonnull
+    public static List<Renderer> getNearby(@Nonnull Location location, double radius) {
+        Validate.notNull(location, "location cannot be null!");
+        World world = Validate.notNull(location.getWorld(), "world cannot be null!");
+
+        LongRegistry<Set<Renderer>> cells = renderers.get(world.getUID());
+        if (cells == null)
+            return Collections.emptyList();
+
+        List<Renderer> nearby = new ArrayList<>();
+        RendererGrid.forEachCell(location, radius, key -> {
+            Set<Renderer> cell = cells.get(key);
+            if (cell == null)
+                return;
+
+            for (Renderer renderer : cell) {
+                double distance = renderer.calculateDistance(location);
+                if (distance != -1 && distance <= radius)
+                    nearby.add(renderer);
+            }
+        });
+        return nearby;
+    }
+
+    /**
+     * Gets players in the chunks which
+     * the radius around the location
+     * touches. Distance is not checked.
+     *
+     * @param location Location.
+     * @param radius   Radius.
+     * @return Players.
+     */
+    @Nonnull
+    public static List<Player> getPlayersAround(@Nonnull Location location, double radius) {
+        List<Player> around = new ArrayList<>();
+        RendererGrid.collectPlayersAround(location, radius, around);
+        return around;
+    }
+
+    /**
+     * Adds players in the chunks which
+     * the radius around the location
+     * touches to the collection. Cells are
+     * looked up without boxing their keys,
+     * so it does not allocate by itself.
+     *
+     * @param location   Location.
+     * @param radius     Radius.
+     * @param collection Collection to add players.
+     */
+    public static void collectPlayersAround(@Nonnull Location location, double radius, @Nonnull Collection<? super Player> collection) {
+        Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(collection, "collection cannot be null!");
+        World world = Validate.notNull(location.getWorld(), "world cannot be null!");
+
+        LongRegistry<Set<Player>> cells = players.get(world.getUID());
+        if (cells == null)
+            return;
+
+        int minX = ((int) Math.floor(location.getX() - radius)) >> 4;
+        int maxX = ((int) Math.floor(location.getX() + radius)) >> 4;
+        int minZ = ((int) Math.floor(location.getZ() - radius)) >> 4;
+        int maxZ = ((int) Math.floor(location.getZ() + radius)) >> 4;
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                Set<Player> cell = cells.get(RendererGrid.key(x, z));
+                if (cell == null || cell.isEmpty())
+                    continue;
+
+                for (Player player : cell)
+                    collection.add(player);
+            }
+        }
+    }
+
+
+    /**
+     * Adds renderer to the grid or moves it
+     * to its new cell. Location of renderer
+     * must have a world, since renderers are
+     * indexed by world.
+     *
+     * @param renderer Renderer.
+     */
+    static void moveRenderer(@Nonnull Renderer renderer) {
+        RendererGrid.setRadius(renderer, renderer.getRadius());
+
+        Location location = renderer.getLocation();
+        Validate.notNull(location.getWorld(), "world of renderer location cannot be null!");
+
+        Cell cell = new Cell(location.getWorld().getUID(), RendererGrid.key(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        Cell old = rendererCells.put(renderer, cell);
+        if (cell.equals(old))
+            return;
+
+        if (old != null)
+            RendererGrid.remove(renderers, old, renderer);
+        RendererGrid.add(renderers, cell, renderer);
+    }
+
+    /**
+     * Removes renderer from the grid.
+     *
+     * @param renderer Renderer.
+     */
+    static void removeRenderer(@Nonnull Renderer renderer) {
+        RendererGrid.setRadius(renderer, null);
+
+        Cell old = rendererCells.remove(renderer);
+        if (old != null)
+            RendererGrid.remove(renderers, old, renderer);
+    }
+
+    /**
+     * Gets renderers which are
+     * shown to the player.
+     *
+     * @param uid UID of player.
+     * @return Renderers.
+     */
+    @Nonnull
+    static Set<Renderer> getShownTo(@Nonnull UUID uid) {
+        Set<Renderer> renderers = shown.get(uid);
+        return (renderers != null) ? renderers : Collections.emptySet();
+    }
+
+    /**
+     * Sets renderer is shown to
+     * the player or not.
+     *
+     * @param uid      UID of player.
+     * @param renderer Renderer.
+     * @param visible  Visible.
+     */
+    static void setShown(@Nonnull UUID uid, @Nonnull Renderer renderer, boolean visible) {
+        if (visible) {
+            shown.compute(uid, (key, renderers) -> {
+                if (renderers == null) renderers = ConcurrentHashMap.newKeySet();
+                renderers.add(renderer);
+                return renderers;
+            });
+        } else {
+            shown.computeIfPresent(uid, (key, renderers) -> {
+                renderers.remove(renderer);
+                return renderers.isEmpty() ? null : renderers;
+            });
+        }
+    }
+
+    /**
+     * Moves players whose block changed since
+     * the previous snapshot to their cells. Move
+     * events are not used, since riding vehicles
+     * or being pushed by pistons and water does
+     * not call them.
+     *
+     * @param previous Previous snapshot.
+     * @param snapshot New snapshot.
+     */
+    static void update(@Nonnull PlayerSnapshot previous, @Nonnull PlayerSnapshot snapshot) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            int old = previous.indexOf(snapshot.getUID(i));
+            if (old == -1 || previous.getPlayer(old) != snapshot.getPlayer(i) || RendererGrid.isBlockChanged(previous, old, snapshot, i))
+                RendererGrid.movePlayer(snapshot.getPlayer(i), snapshot.getWorld(i),
+                        (int) Math.floor(snapshot.getX(i)), (int) Math.floor(snapshot.getZ(i)));
+        }
+    }
+
+    /**
+     * Moves player to the cell of block
+     * if it crossed a chunk boundary, and
+     * marks player as dirty.
+     *
+     * @param player Player.
+     * @param world  UID of world.
+     * @param blockX Block x.
+     * @param blockZ Block z.
+     */
+    private static void movePlayer(@Nonnull Player player, @Nonnull UUID world, int blockX, int blockZ) {
+        RendererHandler.markDirty(player.getUniqueId());
+
+        Cell cell = new Cell(world, RendererGrid.key(blockX >> 4, blockZ >> 4));
+        Cell old = playerCells.get(player.getUniqueId());
+        if (cell.equals(old))
+            return;
+
+        playerCells.put(player.getUniqueId(), cell);
+        if (old != null)
+            RendererGrid.remove(players, old, player);
+        RendererGrid.add(players, cell, player);
+    }
+
+    /**
+     * Removes player from the grid.
+     *
+     * @param player Player.
+     */
+    private static void removePlayer(@Nonnull Player player) {
+        RendererHandler.markDirty(player.getUniqueId());
+
+        Cell old = playerCells.remove(player.getUniqueId());
+        if (old != null)
+            RendererGrid.remove(players, old, player);
+    }
+
+    /**
+     * Checks world or block position of
+     * player changed between two snapshots.
+     *
+     * @param from      Previous snapshot.
+     * @param fromIndex Index of player in previous snapshot.
+     * @param to        New snapshot.
+     * @param toIndex   Index of player in new snapshot.
+     * @return If changed, returns true.
+     */
+    private static boolean isBlockChanged(@Nonnull PlayerSnapshot from, int fromIndex,
+                                          @Nonnull PlayerSnapshot to, int toIndex) {
+        return !from.getWorld(fromIndex).equals(to.getWorld(toIndex)) ||
+                Math.floor(from.getX(fromIndex)) != Math.floor(to.getX(toIndex)) ||
+                Math.floor(from.getY(fromIndex)) != Math.floor(to.getY(toIndex)) ||
+                Math.floor(from.getZ(fromIndex)) != Math.floor(to.getZ(toIndex));
+    }
+
+    /**
+     * Updates radius of renderer in the radius
+     * counts, and recalculates max radius, so
+     * it shrinks when the largest renderers
+     * are removed or their radius is reduced.
+     *
+     * @param renderer Renderer.
+     * @param radius   Radius, null to remove.
+     */
+    private static synchronized void setRadius(@Nonnull Renderer renderer, @Nullable Double radius) {
+        Double old = (radius != null) ? rendererRadii.put(renderer, radius) : rendererRadii.remove(renderer);
+        if (Objects.equals(old, radius))
+            return;
+
+        if (old != null)
+            radii.computeIfPresent(old, (key, count) -> (count == 1) ? null : count - 1);
+        if (radius != null)
+            radii.merge(radius, 1, Integer::sum);
+        maxRadius = radii.isEmpty() ? 0 : Math.max(0, radii.lastKey());
+    }
+
+    /**
+     * Runs consumer for key of each chunk
+     * which the radius around the location
+     * touches.
+     *
+     * @param location Location.
+     * @param radius   Radius.
+     * @param consumer Consumer of chunk keys.
+     */
+    private static void forEachCell(@Nonnull Location location, double radius, @Nonnull LongConsumer consumer) {
+        int minX = ((int) Math.floor(location.getX() - radius)) >> 4;
+        int maxX = ((int) Math.floor(location.getX() + radius)) >> 4;
+        int minZ = ((int) Math.floor(location.getZ() - radius)) >> 4;
+        int maxZ = ((int) Math.floor(location.getZ() + radius)) >> 4;
+
+        for (int x = minX; x <= maxX; x++)
+            for (int z = minZ; z <= maxZ; z++)
+                consumer.accept(RendererGrid.key(x, z));
+    }
+
+    /**
+     * Packs chunk coordinates into a key.
+     *
+     * @param x Chunk x.
+     * @param z Chunk z.
+     * @return Key.
+     */
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static synchronized <T> void add(@Nonnull Map<UUID, LongRegistry<Set<T>>> grid, @Nonnull Cell cell, @Nonnull T value) {
+        LongRegistry<Set<T>> cells = grid.computeIfAbsent(cell.world, world -> new LongRegistry<>());
+        Set<T> values = cells.get(cell.key);
+        if (values == null)
+            cells.put(cell.key, values = ConcurrentHashMap.newKeySet());
+        values.add(value);
+    }
+
+    private static synchronized <T> void remove(@Nonnull Map<UUID, LongRegistry<Set<T>>> grid, @Nonnull Cell cell, @Nonnull T value) {
+        LongRegistry<Set<T>> cells = grid.get(cell.world);
+        if (cells == null)
+            return;
+
+        Set<T> values = cells.get(cell.key);
+        if (values != null && values.remove(value) && values.isEmpty())
+            cells.remove(cell.key, values);
+    }
+
+
+    /**
+     * Chunk of a world.
+     */
+    private static final class Cell {
+
+        private final UUID world;
+        private final long key;
+
+        private Cell(@Nonnull UUID world, long key) {
+            this.world = world;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Cell)) return false;
+            Cell cell = (Cell) o;
+            return this.key == cell.key && this.world.equals(cell.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.world.hashCode() + Long.hashCode(this.key);
+        }
+    }
+}
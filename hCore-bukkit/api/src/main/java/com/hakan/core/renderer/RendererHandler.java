@@ -0,0 +1,451 @@
+package com.hakan.core.renderer;
+
+import com.hakan.core.HCore;
+import com.hakan.core.packet.PacketBatch;
+import com.hakan.core.packet.PacketHandler;
+import com.hakan.core.utils.Validate;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * RendererHandler class to update
+ * visibility of renderers only for
+ * players who moved, when event
+ * driven mode is enabled.
+ */
+public final class RendererHandler {
+
+    private static final int POLLING_INTERVAL = 10;
+    private static final Map<UUID, Long> dirtyPlayers = new ConcurrentHashMap<>();
+    private static final Set<Renderer> dirtyRenderers = ConcurrentHashMap.newKeySet();
+    private static final Map<UUID, PriorityQueue<Spawn>> spawns = new ConcurrentHashMap<>();
+    private static volatile boolean eventDriven = false;
+    private static volatile int sweepInterval = 100;
+    private static volatile int spawnBudget = 0;
+    private static volatile int parallelism = 0;
+    private static volatile int threshold = 64;
+    private static volatile ForkJoinPool pool = null;
+
+    /**
+     * Initializes the renderer system.
+     */
+    public static void initialize() {
+        HCore.asyncScheduler().every(1)
+                .run(RendererHandler::process);
+    }
+
+    /**
+     * Checks event driven mode is enabled.
+     *
+     * @return If enabled, returns true.
+     */
+    public static boolean isEventDriven() {
+        return eventDriven;
+    }
+
+    /**
+     * Sets event driven mode. If it is enabled,
+     * visibility is recomputed every tick only
+     * for players whose block changed and for
+     * renderers which moved or changed viewers.
+     * Full render passes then run only as a
+     * safety sweep.
+     *
+     * @param eventDriven Event driven mode.
+     */
+    public static void setEventDriven(boolean eventDriven) {
+        RendererHandler.eventDriven = eventDriven;
+        if (!eventDriven) {
+            dirtyPlayers.clear();
+            dirtyRenderers.clear();
+        }
+    }
+
+    /**
+     * Gets interval of full render passes
+     * in ticks. It is the safety sweep interval
+     * in event driven mode, otherwise it is
+     * the polling interval.
+     *
+     * @return Interval in ticks.
+     */
+    public static int getSweepInterval() {
+        return eventDriven ? sweepInterval : POLLING_INTERVAL;
+    }
+
+    /**
+     * Sets safety sweep interval of
+     * event driven mode in ticks.
+     *
+     * @param sweepInterval Interval in ticks.
+     */
+    public static void setSweepInterval(int sweepInterval) {
+        Validate.isTrue(sweepInterval <= 0, "sweep interval must be positive!");
+        RendererHandler.sweepInterval = sweepInterval;
+    }
+
+    /**
+     * Gets parallelism of render passes.
+     * 0 means renderers are rendered
+     * serially on the calling thread.
+     *
+     * @return Parallelism.
+     */
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets parallelism of render passes. If it
+     * is positive, renderers are partitioned
+     * across a fork-join pool with the given
+     * parallelism, and packets which are sent
+     * during the pass are flushed at once.
+     *
+     * @param parallelism Parallelism, 0 to render serially.
+     */
+    public static synchronized void setParallelism(int parallelism) {
+        Validate.isTrue(parallelism < 0, "parallelism cannot be negative!");
+
+        ForkJoinPool old = pool;
+        pool = (parallelism > 0) ? new ForkJoinPool(parallelism) : null;
+        RendererHandler.parallelism = parallelism;
+        if (old != null) old.shutdown();
+    }
+
+    /**
+     * Gets threshold of render passes which is
+     * max count of renderers rendered by one
+     * fork-join task without splitting it.
+     *
+     * @return Threshold.
+     */
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets threshold of render passes which is
+     * max count of renderers rendered by one
+     * fork-join task without splitting it.
+     * Passes with less renderers than the
+     * threshold are rendered serially.
+     *
+     * @param threshold Threshold.
+     */
+    public static void setThreshold(int threshold) {
+        Validate.isTrue(threshold <= 0, "threshold must be positive!");
+        RendererHandler.threshold = threshold;
+    }
+
+    /**
+     * Renders renderers of the values. If
+     * parallelism is positive, they are
+     * rendered in parallel and packets are
+     * handed to the packet layer in one step.
+     * Worker threads join the batch scope of
+     * the calling thread for the pass.
+     *
+     * @param values   Values.
+     * @param function Function to get renderer of a value.
+     * @param <T>      Value type.
+     */
+    public static <T> void render(@Nonnull Collection<T> values, @Nonnull Function<T, Renderer> function) {
+        Validate.notNull(values, "values cannot be null!");
+        Validate.notNull(function, "function cannot be null!");
+
+        ForkJoinPool pool = RendererHandler.pool;
+        if (pool == null || values.size() < threshold) {
+            values.forEach(value -> function.apply(value).render());
+            return;
+        }
+
+        Renderer[] renderers = new Renderer[values.size()];
+        int size = 0;
+        for (T value : values) {
+            if (size == renderers.length) break;
+            renderers[size++] = function.apply(value);
+        }
+
+        int count = size;
+        PacketHandler.batch(() -> {
+            PacketBatch batch = PacketHandler.findBatch().orElse(null);
+            RenderTask task = new RenderTask(renderers, 0, count, threshold, batch);
+            try {
+                pool.invoke(task);
+            } catch (RejectedExecutionException e) {
+                task.compute();
+            }
+        });
+    }
+
+    /**
+     * Gets global spawn budget which is max
+     * count of entities spawned to a player
+     * per tick. 0 means unlimited.
+     *
+     * @return Spawn budget.
+     */
+    public static int getSpawnBudget() {
+        return spawnBudget;
+    }
+
+    /**
+     * Sets global spawn budget which is max
+     * count of entities spawned to a player
+     * per tick. Each renderer spends its spawn
+     * cost. 0 means unlimited. Deferred
+     * renderers are shown nearest-first in
+     * the next ticks.
+     *
+     * @param spawnBudget Spawn budget.
+     */
+    public static void setSpawnBudget(int spawnBudget) {
+        Validate.isTrue(spawnBudget < 0, "spawn budget cannot be negative!");
+        RendererHandler.spawnBudget = spawnBudget;
+    }
+
+    /**
+     * Gets count of renderers waiting
+     * to be shown to the player.
+     *
+     * @param uid UID of player.
+     * @return Count of pending spawns.
+     */
+    public static int getPendingSpawns(@Nonnull UUID uid) {
+        PriorityQueue<Spawn> queue = spawns.get(Validate.notNull(uid, "uid cannot be null!"));
+        if (queue == null)
+            return 0;
+
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Recomputes visibility of dirty renderers
+     * and dirty players, then shows pending
+     * renderers within spawn budgets.
+     */
+    public static void process() {
+        if (eventDriven)
+            RendererHandler.processDirty();
+        if (!spawns.isEmpty())
+            RendererHandler.processSpawns();
+    }
+
+    /**
+     * Shows pending renderers to each player,
+     * nearest first. A renderer is shown only
+     * if its spawn cost fits into what is left
+     * of its budget in this tick, otherwise it
+     * stays in the queue. The first renderer
+     * of a tick is always shown, so a renderer
+     * which costs more than the budget is not
+     * deferred forever.
+     */
+    private static void processSpawns() {
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+
+        Iterator<Map.Entry<UUID, PriorityQueue<Spawn>>> iterator = spawns.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PriorityQueue<Spawn>> entry = iterator.next();
+            UUID uid = entry.getKey();
+            PriorityQueue<Spawn> queue = entry.getValue();
+
+            List<Spawn> polled = new ArrayList<>();
+            synchronized (queue) {
+                if (snapshot.indexOf(uid) == -1 && Bukkit.getPlayer(uid) == null) {
+                    queue.clear();
+                    iterator.remove();
+                    continue;
+                }
+
+                Spawn spawn;
+                while ((spawn = queue.poll()) != null)
+                    polled.add(spawn);
+            }
+
+            int spent = 0;
+            List<Spawn> deferred = null;
+            for (Spawn spawn : polled) {
+                if (!spawn.renderer.isPending(uid))
+                    continue;
+
+                int budget = spawn.renderer.calculateSpawnBudget();
+                int cost = spawn.renderer.getSpawnCost();
+                if (budget != 0 && spent != 0 && spent + cost > budget) {
+                    if (deferred == null) deferred = new ArrayList<>();
+                    deferred.add(spawn);
+                } else if (spawn.renderer.spawn(uid)) {
+                    spent += cost;
+                }
+            }
+
+            synchronized (queue) {
+                if (deferred != null)
+                    queue.addAll(deferred);
+                if (queue.isEmpty())
+                    iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Recomputes visibility of dirty
+     * renderers and dirty players.
+     */
+    private static void processDirty() {
+        Iterator<Renderer> renderers = dirtyRenderers.iterator();
+        while (renderers.hasNext()) {
+            Renderer renderer = renderers.next();
+            renderers.remove();
+            renderer.render();
+        }
+
+        if (dirtyPlayers.isEmpty())
+            return;
+
+        PlayerSnapshot snapshot = PlayerSnapshot.current();
+        double radius = RendererGrid.getMaxRadius();
+
+        Iterator<Map.Entry<UUID, Long>> players = dirtyPlayers.entrySet().iterator();
+        while (players.hasNext()) {
+            Map.Entry<UUID, Long> entry = players.next();
+            UUID uid = entry.getKey();
+            int index = snapshot.indexOf(uid);
+
+            if (snapshot.getTick() <= entry.getValue() || (index == -1 && Bukkit.getPlayer(uid) != null))
+                continue;
+            players.remove();
+
+            Set<Renderer> targets = new HashSet<>(RendererGrid.getShownTo(uid));
+            if (index != -1) {
+                Location location = snapshot.getLocation(index);
+                if (location.getWorld() != null)
+                    targets.addAll(RendererGrid.getNearby(location, radius));
+            }
+            targets.forEach(renderer -> renderer.render(uid));
+        }
+    }
+
+    /**
+     * Queues spawn of renderer to the player.
+     *
+     * @param uid      UID of player.
+     * @param renderer Renderer.
+     * @param distance Distance between player and renderer.
+     */
+    static void queueSpawn(@Nonnull UUID uid, @Nonnull Renderer renderer, double distance) {
+        while (true) {
+            PriorityQueue<Spawn> queue = spawns.computeIfAbsent(uid, key -> new PriorityQueue<>());
+            synchronized (queue) {
+                if (spawns.get(uid) != queue)
+                    continue;
+                queue.add(new Spawn(renderer, distance));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks player as dirty, so its visibility
+     * is recomputed after the next snapshot.
+     *
+     * @param uid UID of player.
+     */
+    static void markDirty(@Nonnull UUID uid) {
+        if (eventDriven)
+            dirtyPlayers.put(uid, PlayerSnapshot.current().getTick());
+    }
+
+    /**
+     * Marks renderer as dirty, so it
+     * is rendered in the next tick.
+     *
+     * @param renderer Renderer.
+     */
+    static void markDirty(@Nonnull Renderer renderer) {
+        if (eventDriven)
+            dirtyRenderers.add(renderer);
+    }
+
+
+    /**
+     * Pending spawn of a renderer,
+     * ordered by distance.
+     */
+    private static final class Spawn implements Comparable<Spawn> {
+
+        private final Renderer renderer;
+        private final double distance;
+
+        private Spawn(@Nonnull Renderer renderer, double distance) {
+            this.renderer = renderer;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(@Nonnull Spawn spawn) {
+            return Double.compare(this.distance, spawn.distance);
+        }
+    }
+
+
+    /**
+     * Fork-join task which renders
+     * a range of renderers.
+     */
+    private static final class RenderTask extends RecursiveAction {
+
+        private final Renderer[] renderers;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final PacketBatch batch;
+
+        private RenderTask(@Nonnull Renderer[] renderers, int from, int to, int threshold, @Nullable PacketBatch batch) {
+            this.renderers = renderers;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.threshold) {
+                if (this.batch != null) PacketHandler.batch(this.batch, this::renderRange);
+                else this.renderRange();
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            ForkJoinTask.invokeAll(new RenderTask(this.renderers, this.from, middle, this.threshold, this.batch),
+                    new RenderTask(this.renderers, middle, this.to, this.threshold, this.batch));
+        }
+
+        private void renderRange() {
+            for (int i = this.from; i < this.to; i++)
+                this.renderers[i].render();
+        }
+    }
+}
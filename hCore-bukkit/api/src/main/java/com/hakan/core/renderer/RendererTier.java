@@ -0,0 +1,46 @@
+package com.hakan.core.renderer;
+
+/**
+ * Level of detail tier of a viewer. Cosmetic
+ * updates like head rotations and text changes
+ * are sent less often to farther tiers.
+ */
+public enum RendererTier {
+
+    NEAR(1),
+    MID(5),
+    FAR(20),
+    ;
+
+    private final int interval;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param interval Update interval in ticks.
+     */
+    RendererTier(int interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Gets update interval of
+     * the tier in ticks.
+     *
+     * @return Interval in ticks.
+     */
+    public int getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Checks cosmetic updates should
+     * be sent at the tick.
+     *
+     * @param tick Tick.
+     * @return If should be sent, returns true.
+     */
+    public boolean shouldUpdate(long tick) {
+        return tick % this.interval == 0;
+    }
+}
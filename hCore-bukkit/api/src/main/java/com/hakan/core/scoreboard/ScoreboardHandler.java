@@ -3,6 +3,7 @@
 import com.hakan.core.HCore;
 import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.Registry;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -21,7 +22,7 @@
  */
 public final class ScoreboardHandler {
 
-    private static final Map<UUID, Scoreboard> scoreboards = new HashMap<>();
+    private static final Registry<UUID, Scoreboard> scoreboards = new Registry<>();
 
     /**
      * Initialize method of Scoreboard.
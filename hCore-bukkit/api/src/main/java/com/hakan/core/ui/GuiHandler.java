@@ -1,6 +1,7 @@
 package com.hakan.core.ui;
 
 import com.hakan.core.HCore;
+import com.hakan.core.packet.bus.PacketBus;
 import com.hakan.core.packet.event.PacketEvent;
 import com.hakan.core.ui.anvil.AnvilGui;
 import com.hakan.core.ui.anvil.builder.AnvilBuilder;
@@ -13,6 +14,7 @@
 import com.hakan.core.ui.sign.SignGui;
 import com.hakan.core.ui.sign.builder.SignBuilder;
 import com.hakan.core.utils.Validate;
+import com.hakan.core.utils.registry.Registry;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -33,7 +35,7 @@
  */
 public final class GuiHandler {
 
-    private static final Map<UUID, Gui> guiMap = new HashMap<>();
+    private static final Registry<UUID, Gui> guiMap = new Registry<>();
 
     /**
      * Initializes the inventory system.
@@ -77,10 +79,8 @@ public static void initialize() {
 
 
         //SIGN
-        HCore.registerEvent(PacketEvent.class)
-                .filter(event -> event.getType().equals(PacketEvent.Type.READ))
-                .filter(event -> event.getPacket().toString().contains("PacketPlayInUpdateSign"))
-                .consume(event -> GuiHandler.findSignByPlayer(event.getPlayer())
+        PacketBus.subscribe("PacketPlayInUpdateSign", PacketEvent.Type.READ,
+                event -> GuiHandler.findSignByPlayer(event.getPlayer())
                         .ifPresent(gui -> gui.receiveInput(event.getPacket())));
     }
 
@@ -0,0 +1,88 @@
+package com.hakan.core.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * FieldAccessor class to get and set
+ * a field through resolved method handles.
+ *
+ * @param <T> Type of field.
+ */
+@SuppressWarnings({"unchecked"})
+public final class FieldAccessor<T> {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param field Field.
+     * @throws IllegalAccessException If field cannot be reached.
+     */
+    FieldAccessor(@Nonnull Field field) throws IllegalAccessException {
+        this.field = Validate.notNull(field, "field cannot be null!");
+        this.field.setAccessible(true);
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.getter = lookup.unreflectGetter(this.field).asType(GETTER_TYPE);
+
+        MethodHandle setter;
+        try {
+            setter = lookup.unreflectSetter(this.field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            setter = null;
+        }
+        this.setter = setter;
+    }
+
+    /**
+     * Gets field.
+     *
+     * @return Field.
+     */
+    @Nonnull
+    public Field getField() {
+        return this.field;
+    }
+
+    /**
+     * Gets value of field.
+     *
+     * @param object Object.
+     * @return Value of field.
+     */
+    @Nullable
+    public T get(@Nonnull Object object) {
+        try {
+            return (T) (Object) this.getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw new IllegalStateException("field " + this.field.getName() + " cannot be read!", e);
+        }
+    }
+
+    /**
+     * Sets value of field.
+     *
+     * @param object Object.
+     * @param value  Value.
+     */
+    public void set(@Nonnull Object object, @Nullable T value) {
+        try {
+            if (this.setter != null) this.setter.invokeExact(object, (Object) value);
+            else this.field.set(object, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("field " + this.field.getName() + " cannot be written!", e);
+        }
+    }
+}
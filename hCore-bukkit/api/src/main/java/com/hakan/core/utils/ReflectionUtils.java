@@ -7,6 +7,11 @@
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * General utils class for hCore.
@@ -14,6 +19,43 @@
 @SuppressWarnings({"unchecked"})
 public final class ReflectionUtils {
 
+    private static final Map<Class<?>, Map<String, FieldAccessor<?>>> accessors = new ConcurrentHashMap<>();
+
+    /**
+     * Gets accessor of the given field.
+     * Accessors are resolved once per
+     * class and field name, then cached.
+     *
+     * @param clazz     Class.
+     * @param fieldName Field name.
+     * @param <T>       Type of field.
+     * @return Accessor of the given field.
+     */
+    @Nonnull
+    public static <T> FieldAccessor<T> getAccessor(@Nonnull Class<?> clazz,
+                                                   @Nonnull String fieldName) {
+        Validate.notNull(clazz, "class cannot be null!");
+        Validate.notNull(fieldName, "fieldName cannot be null!");
+
+        Map<String, FieldAccessor<?>> fields = accessors.get(clazz);
+        if (fields == null) {
+            fields = new ConcurrentHashMap<>();
+            Map<String, FieldAccessor<?>> previous = accessors.putIfAbsent(clazz, fields);
+            if (previous != null) fields = previous;
+        }
+
+        FieldAccessor<?> accessor = fields.get(fieldName);
+        if (accessor == null) {
+            try {
+                accessor = new FieldAccessor<>(clazz.getDeclaredField(fieldName));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("field " + fieldName + " cannot be resolved in " + clazz.getName(), e);
+            }
+            fields.put(fieldName, accessor);
+        }
+        return (FieldAccessor<T>) accessor;
+    }
+
     /**
      * Creates new instance of the given class.
      *
@@ -87,12 +129,7 @@ public static <T> T getField(@Nonnull Object object,
         try {
             Validate.notNull(object, "object cannot be null!");
             Validate.notNull(fieldName, "fieldName cannot be null!");
-
-            Field field = clazz.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            Object value = field.get(object);
-            field.setAccessible(false);
-            return (value != null) ? (T) value : null;
+            return ReflectionUtils.<T>getAccessor(clazz, fieldName).get(object);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -141,13 +178,7 @@ public static <T> void setField(@Nonnull Object object,
             Validate.notNull(object, "object cannot be null!");
             Validate.notNull(fieldName, "fieldName cannot be null!");
             Validate.notNull(value, "value cannot be null!");
-
-            Field field = object.getClass().getDeclaredField(fieldName);
-            boolean accessible = field.isAccessible();
-
-            field.setAccessible(true);
-            field.set(object, value);
-            field.setAccessible(accessible);
+            ReflectionUtils.<T>getAccessor(object.getClass(), fieldName).set(object, value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -249,4 +280,37 @@ public static <T> T invoke(@Nonnull Object object,
             return null;
         }
     }
+
+    /**
+     * Finds value of the key through static
+     * lookup method of the class, such as
+     * entity types by their key. The method is
+     * resolved by its signature, so it does not
+     * depend on obfuscated names.
+     *
+     * @param clazz Class of lookup method.
+     * @param key   Key.
+     * @param <T>   Type.
+     * @return Value.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> T lookup(@Nonnull Class<?> clazz, @Nonnull String key) {
+        Validate.notNull(clazz, "class cannot be null!");
+        Validate.notNull(key, "key cannot be null!");
+
+        try {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) && method.getReturnType() == Optional.class &&
+                        Arrays.equals(method.getParameterTypes(), new Class[]{String.class})) {
+                    method.setAccessible(true);
+                    Optional<T> value = (Optional<T>) method.invoke(null, key);
+                    return value.orElseThrow(() -> new IllegalStateException(clazz.getSimpleName() + "(" + key + ") cannot be found!"));
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        throw new IllegalStateException("lookup method of " + clazz.getSimpleName() + " cannot be found!");
+    }
 }
@@ -0,0 +1,192 @@
+package com.hakan.core.utils.registry;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe registry with primitive int keys,
+ * such as entity ids. Lookups are lock-free and
+ * do not box the key, so they can run on netty
+ * threads for every packet. Writes are serialized.
+ *
+ * @param <V> Value type.
+ */
+public final class IntRegistry<V> {
+
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private volatile Table<V> table;
+    private int size;
+    private int used;
+
+    /**
+     * Creates new instance of this class.
+     */
+    public IntRegistry() {
+        this.table = new Table<>(64);
+    }
+
+    /**
+     * Gets count of values.
+     *
+     * @return Size.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets value of the key.
+     *
+     * @param key Key.
+     * @return Value, null if absent.
+     */
+    @Nullable
+    public V get(int key) {
+        Table<V> table = this.table;
+        int mask = table.keys.length() - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int current = table.keys.get(i);
+            if (current == key)
+                return table.values.get(i);
+            else if (current == FREE)
+                return null;
+        }
+    }
+
+    /**
+     * Puts value to the key.
+     *
+     * @param key   Key.
+     * @param value Value.
+     * @return Old value, null if absent.
+     */
+    @Nullable
+    public synchronized V put(int key, @Nonnull V value) {
+        Validate.isTrue(key == FREE, "key cannot be " + FREE + "!");
+        Validate.notNull(value, "value cannot be null!");
+
+        if ((this.used + 1) * 2 > this.table.keys.length())
+            this.rehash();
+
+        Table<V> table = this.table;
+        int mask = table.keys.length() - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int current = table.keys.get(i);
+            if (current == key) {
+                V old = table.values.getAndSet(i, value);
+                if (old == null) this.size++;
+                return old;
+            } else if (current == FREE) {
+                table.values.set(i, value);
+                table.keys.set(i, key);
+                this.size++;
+                this.used++;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Removes value of the key. The slot is kept
+     * as a tombstone until the next rehash, so
+     * concurrent lookups never see a broken chain.
+     *
+     * @param key Key.
+     * @return Removed value, null if absent.
+     */
+    @Nullable
+    public synchronized V remove(int key) {
+        Table<V> table = this.table;
+        int mask = table.keys.length() - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int current = table.keys.get(i);
+            if (current == key) {
+                V old = table.values.getAndSet(i, null);
+                if (old != null) this.size--;
+                return old;
+            } else if (current == FREE) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Removes the key only if it is
+     * mapped to the value.
+     *
+     * @param key   Key.
+     * @param value Value.
+     * @return If removed, returns true.
+     */
+    public synchronized boolean remove(int key, @Nonnull V value) {
+        if (this.get(key) != value)
+            return false;
+        return this.remove(key) != null;
+    }
+
+    /**
+     * Rebuilds the table without tombstones,
+     * growing it if it is more than
+     * quarter full.
+     */
+    private void rehash() {
+        Table<V> old = this.table;
+        int capacity = old.keys.length();
+        while (this.size * 4 > capacity)
+            capacity <<= 1;
+
+        Table<V> table = new Table<>(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.keys.length(); i++) {
+            V value = old.values.get(i);
+            if (value == null)
+                continue;
+
+            int key = old.keys.get(i);
+            int slot = mix(key) & mask;
+            while (table.keys.get(slot) != FREE)
+                slot = (slot + 1) & mask;
+            table.values.set(slot, value);
+            table.keys.set(slot, key);
+        }
+
+        this.used = this.size;
+        this.table = table;
+    }
+
+    /**
+     * Spreads bits of the key since entity
+     * ids are sequential.
+     *
+     * @param key Key.
+     * @return Hash.
+     */
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+
+    /**
+     * Open addressing table.
+     *
+     * @param <V> Value type.
+     */
+    private static final class Table<V> {
+
+        private final AtomicIntegerArray keys;
+        private final AtomicReferenceArray<V> values;
+
+        private Table(int capacity) {
+            this.keys = new AtomicIntegerArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < capacity; i++)
+                this.keys.set(i, FREE);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.hakan.core.utils.registry;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Thread-safe registry map. Reads and iteration
+ * are lock-free and never throw concurrent
+ * modification exceptions, so values can be
+ * iterated from async and netty threads without
+ * copying. Writes are serialized to keep the
+ * secondary indexes consistent. Null keys and
+ * values are allowed like in a hash map, but
+ * null values are not indexed.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ */
+public final class Registry<K, V> extends AbstractMap<K, V> {
+
+    private static final Object NULL = new Object();
+
+    private final Map<Object, Object> map;
+    private final List<RegistryIndex<?, V>> indexes;
+    private final Set<Entry<K, V>> entrySet;
+    private final Set<K> keySet;
+    private final Collection<V> values;
+
+    /**
+     * Creates new instance of this class.
+     */
+    public Registry() {
+        this.map = new ConcurrentHashMap<>();
+        this.indexes = new CopyOnWriteArrayList<>();
+        this.entrySet = new EntrySet();
+        this.keySet = new KeySet();
+        this.values = new Values();
+    }
+
+    /**
+     * Creates a unique secondary index. Index key
+     * of a value is calculated when it is put,
+     * so it should not change while registered.
+     *
+     * @param function Index key function.
+     * @param <I>      Index key type.
+     * @return Index.
+     */
+    @Nonnull
+    public synchronized <I> RegistryIndex<I, V> index(@Nonnull Function<V, I> function) {
+        RegistryIndex<I, V> index = new RegistryIndex<>(Validate.notNull(function, "function cannot be null!"));
+        for (Object value : this.map.values())
+            if (value != NULL) index.add(unmask(value));
+        this.indexes.add(index);
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.map.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return this.map.containsKey(mask(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(@Nullable Object value) {
+        return this.map.containsValue(mask(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public V get(@Nullable Object key) {
+        return unmask(this.map.get(mask(key)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public synchronized V put(@Nullable K key, @Nullable V value) {
+        V old = unmask(this.map.put(mask(key), mask(value)));
+        if (old != null)
+            this.indexes.forEach(index -> index.remove(old));
+        if (value != null)
+            this.indexes.forEach(index -> index.add(value));
+        return old;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public synchronized V putIfAbsent(@Nullable K key, @Nullable V value) {
+        V old = this.get(key);
+        return (old != null) ? old : this.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public synchronized V remove(@Nullable Object key) {
+        V old = unmask(this.map.remove(mask(key)));
+        if (old != null)
+            this.indexes.forEach(index -> index.remove(old));
+        return old;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean remove(@Nullable Object key, @Nullable Object value) {
+        if (!this.map.remove(mask(key), mask(value)))
+            return false;
+
+        @SuppressWarnings("unchecked")
+        V old = (V) value;
+        if (old != null)
+            this.indexes.forEach(index -> index.remove(old));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        this.map.clear();
+        this.indexes.forEach(RegistryIndex::clear);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return this.entrySet;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Set<K> keySet() {
+        return this.keySet;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Collection<V> values() {
+        return this.values;
+    }
+
+
+    /**
+     * Masks null key or value, since
+     * the backing map does not allow it.
+     *
+     * @param object Key or value.
+     * @return Masked object.
+     */
+    @Nonnull
+    private static Object mask(@Nullable Object object) {
+        return (object != null) ? object : NULL;
+    }
+
+    /**
+     * Unmasks key or value which is
+     * read from the backing map.
+     *
+     * @param object Masked object.
+     * @param <T>    Type.
+     * @return Key or value.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <T> T unmask(@Nullable Object object) {
+        return (object != NULL) ? (T) object : null;
+    }
+
+
+    /**
+     * Entry of the entry set view. Its
+     * value is set through the registry,
+     * so indexes stay consistent.
+     */
+    private final class RegistryEntry extends SimpleEntry<K, V> {
+
+        /**
+         * Creates new instance of this class.
+         *
+         * @param key   Key.
+         * @param value Value.
+         */
+        private RegistryEntry(@Nullable K key, @Nullable V value) {
+            super(key, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Nullable
+        @Override
+        public V setValue(@Nullable V value) {
+            Registry.this.put(this.getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * Entry set view which removes and
+     * sets values through the registry.
+     */
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Nonnull
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Entry<Object, Object>> iterator = Registry.this.map.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Entry<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    Entry<Object, Object> entry = iterator.next();
+                    return this.last = new RegistryEntry(unmask(entry.getKey()), unmask(entry.getValue()));
+                }
+
+                @Override
+                public void remove() {
+                    Validate.isTrue(this.last == null, "next() must be called before remove()!");
+                    Registry.this.remove(this.last.getKey(), this.last.getValue());
+                    this.last = null;
+                }
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return Registry.this.map.size();
+        }
+    }
+
+    /**
+     * Key set view which iterates keys of
+     * the backing map without creating
+     * entries and removes them through
+     * the registry.
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Nonnull
+        @Override
+        public Iterator<K> iterator() {
+            Iterator<Object> iterator = Registry.this.map.keySet().iterator();
+            return new Iterator<K>() {
+                private Object last = null;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return unmask(this.last = iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    Validate.isTrue(this.last == null, "next() must be called before remove()!");
+                    Registry.this.remove(unmask(this.last));
+                    this.last = null;
+                }
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(@Nullable Object key) {
+            return Registry.this.containsKey(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return Registry.this.map.size();
+        }
+    }
+
+    /**
+     * Values view which iterates keys of the
+     * backing map and reads their values, so
+     * it creates no entries and can remove
+     * values through the registry.
+     */
+    private final class Values extends AbstractCollection<V> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Nonnull
+        @Override
+        public Iterator<V> iterator() {
+            Iterator<Object> iterator = Registry.this.map.keySet().iterator();
+            return new Iterator<V>() {
+                private Object nextKey = null;
+                private Object nextValue = null;
+                private Object lastKey = null;
+                private Object lastValue = null;
+
+                @Override
+                public boolean hasNext() {
+                    while (this.nextValue == null && iterator.hasNext()) {
+                        Object key = iterator.next();
+                        Object value = Registry.this.map.get(key);
+                        if (value != null) {
+                            this.nextKey = key;
+                            this.nextValue = value;
+                        }
+                    }
+                    return this.nextValue != null;
+                }
+
+                @Override
+                public V next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+
+                    this.lastKey = this.nextKey;
+                    this.lastValue = this.nextValue;
+                    this.nextKey = null;
+                    this.nextValue = null;
+                    return unmask(this.lastValue);
+                }
+
+                @Override
+                public void remove() {
+                    Validate.isTrue(this.lastKey == null, "next() must be called before remove()!");
+                    Registry.this.remove(unmask(this.lastKey), unmask(this.lastValue));
+                    this.lastKey = null;
+                    this.lastValue = null;
+                }
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(@Nullable Object value) {
+            return Registry.this.containsValue(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return Registry.this.map.size();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hakan.core.utils.registry;
+
+import com.hakan.core.utils.Validate;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Unique secondary index of a registry.
+ * It is maintained by the registry, and
+ * lookups are lock-free.
+ *
+ * @param <I> Index key type.
+ * @param <V> Value type.
+ */
+public final class RegistryIndex<I, V> {
+
+    private final Function<V, I> function;
+    private final Map<I, V> values;
+
+    /**
+     * Creates new instance of this class.
+     *
+     * @param function Index key function.
+     */
+    RegistryIndex(@Nonnull Function<V, I> function) {
+        this.function = function;
+        this.values = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Finds value by index key.
+     *
+     * @param key Index key.
+     * @return Value as optional.
+     */
+    @Nonnull
+    public Optional<V> find(@Nonnull I key) {
+        return Optional.ofNullable(this.values.get(Validate.notNull(key, "key cannot be null!")));
+    }
+
+    /**
+     * Checks index contains the key.
+     *
+     * @param key Index key.
+     * @return If contains, returns true.
+     */
+    public boolean has(@Nonnull I key) {
+        return this.values.containsKey(Validate.notNull(key, "key cannot be null!"));
+    }
+
+    /**
+     * Indexes the value.
+     *
+     * @param value Value.
+     */
+    void add(@Nonnull V value) {
+        I key = this.function.apply(value);
+        if (key != null)
+            this.values.put(key, value);
+    }
+
+    /**
+     * Removes the value from index.
+     *
+     * @param value Value.
+     */
+    void remove(@Nonnull V value) {
+        I key = this.function.apply(value);
+        if (key != null)
+            this.values.remove(key, value);
+    }
+
+    /**
+     * Clears the index.
+     */
+    void clear() {
+        this.values.clear();
+    }
+}
@@ -1,11 +1,6 @@
 package com.hakan.core.packet.player;
 
-import com.hakan.core.packet.event.PacketEvent;
-import com.hakan.core.packet.utils.PacketUtils;
 import com.hakan.core.utils.Validate;
-import io.netty.channel.ChannelDuplexHandler;
-import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelPromise;
 import net.minecraft.server.v1_10_R1.Packet;
 import net.minecraft.server.v1_10_R1.PlayerConnection;
 import org.bukkit.craftbukkit.v1_10_R1.entity.CraftPlayer;
@@ -47,25 +42,7 @@ public void send(@Nonnull Object... packets) {
     @Override
     public void register() {
         try {
-            super.pipeline = this.connection.networkManager.channel.pipeline().addBefore("packet_handler", CHANNEL + super.player.getUniqueId(), new ChannelDuplexHandler() {
-                @Override
-                public void channelRead(ChannelHandlerContext channelHandlerContext, Object msg) throws Exception {
-                    PacketEvent packetEvent = new PacketEvent(player, msg, PacketEvent.Type.READ);
-                    PacketUtils.callEvent(packetEvent);
-
-                    if (packetEvent.isCancelled()) return;
-                    super.channelRead(channelHandlerContext, msg);
-                }
-
-                @Override
-                public void write(ChannelHandlerContext channelHandlerContext, Object o, ChannelPromise channelPromise) throws Exception {
-                    PacketEvent packetEvent = new PacketEvent(player, o, PacketEvent.Type.WRITE);
-                    PacketUtils.callEvent(packetEvent);
-
-                    if (packetEvent.isCancelled()) return;
-                    super.write(channelHandlerContext, o, channelPromise);
-                }
-            });
+            super.pipeline = this.connection.networkManager.channel.pipeline().addBefore("packet_handler", CHANNEL + super.player.getUniqueId(), new PacketPlayerHandler(this));
         } catch (Exception ignored) {
         }
     }
@@ -3,6 +3,7 @@
 import com.hakan.core.npc.Npc;
 import com.hakan.core.npc.NpcHandler;
 import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.utils.FieldAccessor;
 import net.minecraft.server.v1_11_R1.PacketPlayInUseEntity;
 import org.bukkit.entity.Player;
 
@@ -13,13 +14,15 @@
  */
 public final class NpcClickListener_v1_11_R1 extends NpcClickListener {
 
+    private static final FieldAccessor<Integer> ENTITY_ID = PacketEvent.accessor(PacketPlayInUseEntity.class, "a");
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void onEntityInteractEvent(@Nonnull PacketEvent event, @Nonnull Player player) {
         PacketPlayInUseEntity packet = event.getPacket();
-        int id = event.getValue("a");
+        int id = event.getValue(ENTITY_ID);
 
         NpcHandler.findByEntityID(id).ifPresent(npc -> {
             PacketPlayInUseEntity.EnumEntityUseAction useAction = packet.a();
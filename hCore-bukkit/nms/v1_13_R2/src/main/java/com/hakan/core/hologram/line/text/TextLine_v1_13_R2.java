@@ -67,13 +67,27 @@ public String getText() {
      * {@inheritDoc}
      */
     @Override
-    public void setText(@Nonnull String text) {
+    public synchronized void setText(@Nonnull String text) {
         this.text = Validate.notNull(text, "text cannot be null!");
         this.armorStand.setCustomName(CraftChatMessage.fromStringOrNull(this.text));
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(this.hologram.getUpdatePlayers(),
                 new PacketPlayOutEntityMetadata(this.armorStand.getId(), this.armorStand.getDataWatcher(), true));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void sendText(@Nonnull List<Player> players, @Nonnull String text) {
+        Validate.notNull(players, "players cannot be null!");
+        Validate.notNull(text, "text cannot be null!");
+
+        this.armorStand.setCustomName(CraftChatMessage.fromStringOrNull(text));
+        PacketPlayOutEntityMetadata packet = new PacketPlayOutEntityMetadata(this.armorStand.getId(), this.armorStand.getDataWatcher(), true);
+        this.armorStand.setCustomName(CraftChatMessage.fromStringOrNull(this.text));
+        HCore.sendPacket(players, packet);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -104,8 +118,9 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
 
         World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
         if (!world.equals(this.click.getWorld())) this.click.spawnIn(world);
@@ -113,7 +128,7 @@ public void setLocation(@Nonnull Location location) {
         this.click.setLocation(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
         this.armorStand.setLocation(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
 
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(players,
                 new PacketPlayOutEntityTeleport(this.armorStand),
                 new PacketPlayOutEntityTeleport(this.click));
     }
@@ -134,7 +149,7 @@ public void setMarker(boolean marker) {
      * {@inheritDoc}
      */
     @Override
-    public void show(@Nonnull List<Player> players) {
+    public synchronized void show(@Nonnull List<Player> players) {
         HCore.sendPacket(Validate.notNull(players, "players cannot be null!"),
                 new PacketPlayOutSpawnEntityLiving(this.armorStand),
                 new PacketPlayOutEntityMetadata(this.armorStand.getId(), this.armorStand.getDataWatcher(), true),
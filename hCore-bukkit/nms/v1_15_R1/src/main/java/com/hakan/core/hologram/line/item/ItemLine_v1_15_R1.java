@@ -103,14 +103,15 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
 
         this.world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
         if (!this.world.equals(this.armorStand.getWorld())) this.armorStand.spawnIn(this.world);
         this.armorStand.setLocation(location.getX(), location.getY() - 0.48, location.getZ(), location.getYaw(), location.getPitch());
 
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(players,
                 new PacketPlayOutEntityTeleport(this.armorStand));
     }
 
@@ -3,6 +3,8 @@
 import com.hakan.core.npc.Npc;
 import com.hakan.core.npc.NpcHandler;
 import com.hakan.core.packet.event.PacketEvent;
+import com.hakan.core.utils.FieldAccessor;
+import net.minecraft.network.protocol.game.PacketPlayInUseEntity;
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
@@ -12,15 +14,18 @@
  */
 public final class NpcClickListener_v1_17_R1 extends NpcClickListener {
 
+    private static final FieldAccessor<Integer> ENTITY_ID = PacketEvent.accessor(PacketPlayInUseEntity.class, "a");
+    private static final FieldAccessor<Object> ACTION = PacketEvent.accessor(PacketPlayInUseEntity.class, "b");
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void onEntityInteractEvent(@Nonnull PacketEvent event, @Nonnull Player player) {
-        int id = event.getValue("a");
+        int id = event.getValue(ENTITY_ID);
 
         NpcHandler.findByEntityID(id).ifPresent(npc -> {
-            if (event.getValue("b").getClass().getName().equals("net.minecraft.network.protocol.game.PacketPlayInUseEntity$1")) {
+            if (event.getValue(ACTION).getClass().getName().equals("net.minecraft.network.protocol.game.PacketPlayInUseEntity$1")) {
                 npc.getAction().onClick(player, Npc.Action.LEFT_CLICK);
             } else {
                 npc.getAction().onClick(player, Npc.Action.RIGHT_CLICK);
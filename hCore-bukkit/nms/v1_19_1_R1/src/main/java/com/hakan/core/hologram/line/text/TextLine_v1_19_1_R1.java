@@ -69,13 +69,27 @@ public String getText() {
      * {@inheritDoc}
      */
     @Override
-    public void setText(@Nonnull String text) {
+    public synchronized void setText(@Nonnull String text) {
         this.text = Validate.notNull(text, "text cannot be null!");
         this.armorStand.b(CraftChatMessage.fromStringOrNull(this.text));
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(this.hologram.getUpdatePlayers(),
                 new PacketPlayOutEntityMetadata(this.armorStand.ae(), this.armorStand.ai(), true));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void sendText(@Nonnull List<Player> players, @Nonnull String text) {
+        Validate.notNull(players, "players cannot be null!");
+        Validate.notNull(text, "text cannot be null!");
+
+        this.armorStand.b(CraftChatMessage.fromStringOrNull(text));
+        PacketPlayOutEntityMetadata packet = new PacketPlayOutEntityMetadata(this.armorStand.ae(), this.armorStand.ai(), true);
+        this.armorStand.b(CraftChatMessage.fromStringOrNull(this.text));
+        HCore.sendPacket(players, packet);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -106,8 +120,9 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
 
         World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
         if (!world.equals(this.click.s)) this.click.s = world;
@@ -115,7 +130,7 @@ public void setLocation(@Nonnull Location location) {
         this.click.a(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
         this.armorStand.a(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
 
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(players,
                 new PacketPlayOutEntityTeleport(this.armorStand),
                 new PacketPlayOutEntityTeleport(this.click));
     }
@@ -136,7 +151,7 @@ public void setMarker(boolean marker) {
      * {@inheritDoc}
      */
     @Override
-    public void show(@Nonnull List<Player> players) {
+    public synchronized void show(@Nonnull List<Player> players) {
         HCore.sendPacket(Validate.notNull(players, "players cannot be null!"),
                 new PacketPlayOutSpawnEntity(this.armorStand),
                 new PacketPlayOutEntityMetadata(this.armorStand.ae(), this.armorStand.ai(), true),
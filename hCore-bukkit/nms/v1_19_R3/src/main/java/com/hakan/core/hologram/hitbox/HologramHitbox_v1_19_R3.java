@@ -0,0 +1,99 @@
+package com.hakan.core.hologram.hitbox;
+
+import com.hakan.core.HCore;
+import com.hakan.core.hologram.Hologram;
+import com.hakan.core.utils.ReflectionUtils;
+import com.hakan.core.utils.Validate;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityDestroy;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityMetadata;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityTeleport;
+import net.minecraft.network.protocol.game.PacketPlayOutSpawnEntity;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.entity.Interaction;
+import net.minecraft.world.level.World;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.v1_19_R3.CraftWorld;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * {@inheritDoc}
+ */
+public final class HologramHitbox_v1_19_R3 implements HologramHitbox {
+
+    private static final EntityTypes<?> TYPE = ReflectionUtils.lookup(EntityTypes.class, "interaction");
+
+    private final Hologram hologram;
+    private final Interaction interaction;
+
+    /**
+     * {@inheritDoc}
+     */
+    private HologramHitbox_v1_19_R3(@Nonnull Hologram hologram, @Nonnull Location location) {
+        World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
+        this.hologram = Validate.notNull(hologram, "hologram class cannot be null!");
+        this.interaction = new Interaction(TYPE, world);
+        this.interaction.a(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+
+        org.bukkit.entity.Interaction bukkitInteraction = (org.bukkit.entity.Interaction) this.interaction.getBukkitEntity();
+        bukkitInteraction.setResponsive(true); //swing arm of the player on click
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Hologram getHologram() {
+        return this.hologram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getEntityID() {
+        return this.interaction.af();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBounds(@Nonnull Location location, double width, double height) {
+        Validate.notNull(location, "location cannot be null!");
+
+        World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
+        if (!world.equals(this.interaction.H)) this.interaction.H = world;
+        this.interaction.a(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+
+        org.bukkit.entity.Interaction bukkitInteraction = (org.bukkit.entity.Interaction) this.interaction.getBukkitEntity();
+        bukkitInteraction.setInteractionWidth((float) width);
+        bukkitInteraction.setInteractionHeight((float) height);
+
+        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+                new PacketPlayOutEntityTeleport(this.interaction),
+                new PacketPlayOutEntityMetadata(this.interaction.af(), this.interaction.aj().c()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void show(@Nonnull List<Player> players) {
+        HCore.sendPacketBundle(Validate.notNull(players, "players cannot be null!"),
+                new PacketPlayOutSpawnEntity(this.interaction),
+                new PacketPlayOutEntityMetadata(this.interaction.af(), this.interaction.aj().c()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void hide(@Nonnull List<Player> players) {
+        HCore.sendPacket(Validate.notNull(players, "players cannot be null!"),
+                new PacketPlayOutEntityDestroy(this.interaction.af()));
+    }
+}
@@ -103,14 +103,15 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
 
         this.world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
         if (!this.world.equals(this.armorStand.H)) this.armorStand.H = this.world;
         this.armorStand.a(location.getX(), location.getY() - 0.48, location.getZ(), location.getYaw(), location.getPitch());
 
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(players,
                 new PacketPlayOutEntityTeleport(this.armorStand));
     }
 
@@ -132,7 +133,7 @@ public void show(@Nonnull List<Player> players) {
         if (this.nmsItem != null) {
             this.nmsItem.a(this.armorStand, true);
 
-            HCore.sendPacket(Validate.notNull(players, "players cannot be null!"),
+            HCore.sendPacketBundle(Validate.notNull(players, "players cannot be null!"),
                     new PacketPlayOutSpawnEntity(this.armorStand),
                     new PacketPlayOutEntityMetadata(this.armorStand.af(), this.armorStand.aj().c()),
                     new PacketPlayOutEntityTeleport(this.armorStand),
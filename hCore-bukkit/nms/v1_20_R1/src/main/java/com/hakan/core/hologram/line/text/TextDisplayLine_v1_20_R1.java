@@ -0,0 +1,150 @@
+package com.hakan.core.hologram.line.text;
+
+import com.hakan.core.HCore;
+import com.hakan.core.hologram.Hologram;
+import com.hakan.core.utils.ReflectionUtils;
+import com.hakan.core.utils.Validate;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityDestroy;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityMetadata;
+import net.minecraft.network.protocol.game.PacketPlayOutEntityTeleport;
+import net.minecraft.network.protocol.game.PacketPlayOutSpawnEntity;
+import net.minecraft.world.entity.Display;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.level.World;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.v1_20_R1.CraftWorld;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * {@inheritDoc}
+ */
+public final class TextDisplayLine_v1_20_R1 implements TextLine {
+
+    private static final EntityTypes<?> TYPE = ReflectionUtils.lookup(EntityTypes.class, "text_display");
+
+    private String text;
+    private final Hologram hologram;
+    private final Display.TextDisplay display;
+
+    /**
+     * {@inheritDoc}
+     */
+    private TextDisplayLine_v1_20_R1(@Nonnull Hologram hologram, @Nonnull Location location) {
+        World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
+        this.hologram = Validate.notNull(hologram, "hologram class cannot be null!");
+        this.display = new Display.TextDisplay(TYPE, world);
+        this.display.a(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+
+        TextDisplay bukkitDisplay = (TextDisplay) this.display.getBukkitEntity();
+        bukkitDisplay.setBillboard(org.bukkit.entity.Display.Billboard.CENTER); //face to the viewer like a name tag
+        bukkitDisplay.setDefaultBackground(true); //use background of name tags
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setText(@Nonnull String text) {
+        this.text = Validate.notNull(text, "text cannot be null!");
+        ((TextDisplay) this.display.getBukkitEntity()).setText(this.text);
+        HCore.sendPacket(this.hologram.getUpdatePlayers(),
+                new PacketPlayOutEntityMetadata(this.display.af(), this.display.aj().c()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void sendText(@Nonnull List<Player> players, @Nonnull String text) {
+        Validate.notNull(players, "players cannot be null!");
+        Validate.notNull(text, "text cannot be null!");
+
+        TextDisplay bukkitDisplay = (TextDisplay) this.display.getBukkitEntity();
+        bukkitDisplay.setText(text);
+        PacketPlayOutEntityMetadata packet = new PacketPlayOutEntityMetadata(this.display.af(), this.display.aj().c());
+        bukkitDisplay.setText(this.text);
+        HCore.sendPacket(players, packet);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Hologram getHologram() {
+        return this.hologram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getEntityID() {
+        return this.display.af();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Location getLocation() {
+        return this.display.getBukkitEntity().getLocation();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
+        Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
+
+        World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
+        if (!world.equals(this.display.dI())) ReflectionUtils.setField(this.display, "t", world);
+        this.display.a(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+
+        HCore.sendPacket(players,
+                new PacketPlayOutEntityTeleport(this.display));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMarker(boolean marker) {
+        //text displays have no hitbox, clicks are caught by hitbox of the hologram.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void show(@Nonnull List<Player> players) {
+        HCore.sendPacketBundle(Validate.notNull(players, "players cannot be null!"),
+                new PacketPlayOutSpawnEntity(this.display),
+                new PacketPlayOutEntityMetadata(this.display.af(), this.display.aj().c()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void hide(@Nonnull List<Player> players) {
+        HCore.sendPacket(Validate.notNull(players, "players cannot be null!"),
+                new PacketPlayOutEntityDestroy(this.display.af()));
+    }
+}
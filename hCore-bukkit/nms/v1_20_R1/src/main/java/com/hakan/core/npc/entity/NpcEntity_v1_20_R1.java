@@ -177,7 +177,7 @@ public void show(@Nonnull List<Player> players) {
         dataWatcher.b(new DataWatcherObject<>(17, DataWatcherRegistry.a), (byte) 127);
 
         players.forEach(player -> this.scoreboard.g().add(player.getName()));
-        HCore.sendPacket(players,
+        HCore.sendPacketBundle(players,
                 new ClientboundPlayerInfoUpdatePacket(ClientboundPlayerInfoUpdatePacket.a.a, this.nmsPlayer),
                 new PacketPlayOutEntityMetadata(this.getID(), dataWatcher.c()),
                 new PacketPlayOutNamedEntitySpawn(this.nmsPlayer),
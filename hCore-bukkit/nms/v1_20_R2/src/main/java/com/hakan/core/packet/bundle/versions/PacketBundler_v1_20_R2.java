@@ -0,0 +1,42 @@
+package com.hakan.core.packet.bundle.versions;
+
+import com.hakan.core.packet.bundle.PacketBundler;
+import com.hakan.core.utils.Validate;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.PacketListenerPlayOut;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@inheritDoc}
+ */
+@SuppressWarnings({"unchecked"})
+public final class PacketBundler_v1_20_R2 implements PacketBundler {
+
+    private static final int MAX_PACKETS = 4096;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public Object[] bundle(@Nonnull Object... packets) {
+        Validate.notNull(packets, "packets cannot be null!");
+        if (packets.length < 2)
+            return packets;
+
+        Object[] bundles = new Object[(packets.length + MAX_PACKETS - 1) / MAX_PACKETS];
+        for (int i = 0; i < bundles.length; i++) {
+            int end = Math.min(packets.length, (i + 1) * MAX_PACKETS);
+
+            List<Packet<PacketListenerPlayOut>> bundle = new ArrayList<>(end - i * MAX_PACKETS);
+            for (int j = i * MAX_PACKETS; j < end; j++)
+                bundle.add((Packet<PacketListenerPlayOut>) packets[j]);
+            bundles[i] = new ClientboundBundlePacket(bundle);
+        }
+        return bundles;
+    }
+}
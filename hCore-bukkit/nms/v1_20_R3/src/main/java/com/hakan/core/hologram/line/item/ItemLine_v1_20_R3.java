@@ -104,14 +104,15 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
 
         this.world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
         if (!this.world.equals(this.armorStand.dM())) ReflectionUtils.setField(this.armorStand, "t", this.world);
         this.armorStand.a(location.getX(), location.getY() - 1.4675, location.getZ(), location.getYaw(), location.getPitch());
 
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(players,
                 new PacketPlayOutEntityTeleport(this.armorStand));
     }
 
@@ -133,7 +134,7 @@ public void show(@Nonnull List<Player> players) {
         if (this.nmsItem != null) {
             this.nmsItem.a(this.armorStand, true);
 
-            HCore.sendPacket(Validate.notNull(players, "players cannot be null!"),
+            HCore.sendPacketBundle(Validate.notNull(players, "players cannot be null!"),
                     new PacketPlayOutSpawnEntity(this.armorStand),
                     new PacketPlayOutEntityMetadata(this.armorStand.aj(), this.armorStand.an().c()),
                     new PacketPlayOutEntityTeleport(this.armorStand),
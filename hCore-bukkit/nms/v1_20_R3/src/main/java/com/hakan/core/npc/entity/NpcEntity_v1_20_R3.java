@@ -182,7 +182,7 @@ public void show(@Nonnull List<Player> players) {
             this.scoreboard.g().add(player.getName());
 
             this.nmsPlayer.c = ((CraftPlayer) players.get(0)).getHandle().c;
-            HCore.sendPacket(player,
+            HCore.sendPacketBundle(player,
                     new ClientboundPlayerInfoUpdatePacket(ClientboundPlayerInfoUpdatePacket.a.a, this.nmsPlayer),
                     new PacketPlayOutEntityMetadata(this.getID(), dataWatcher.c()),
                     new PacketPlayOutSpawnEntity(this.nmsPlayer),
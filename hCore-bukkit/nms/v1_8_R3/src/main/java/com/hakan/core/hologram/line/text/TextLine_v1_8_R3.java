@@ -2,7 +2,9 @@
 
 import com.hakan.core.HCore;
 import com.hakan.core.hologram.Hologram;
+import com.hakan.core.utils.ReflectionUtils;
 import com.hakan.core.utils.Validate;
+import net.minecraft.server.v1_8_R3.DataWatcher;
 import net.minecraft.server.v1_8_R3.EntityArmorStand;
 import net.minecraft.server.v1_8_R3.NBTTagCompound;
 import net.minecraft.server.v1_8_R3.PacketPlayOutEntityDestroy;
@@ -15,6 +17,7 @@
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -71,10 +74,24 @@ public String getText() {
     public void setText(@Nonnull String text) {
         this.text = Validate.notNull(text, "text cannot be null!");
         this.armorStand.setCustomName(this.text);
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(this.hologram.getUpdatePlayers(),
                 new PacketPlayOutEntityMetadata(this.armorStand.getId(), this.armorStand.getDataWatcher(), true));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sendText(@Nonnull List<Player> players, @Nonnull String text) {
+        Validate.notNull(players, "players cannot be null!");
+        Validate.notNull(text, "text cannot be null!");
+
+        PacketPlayOutEntityMetadata packet = new PacketPlayOutEntityMetadata();
+        ReflectionUtils.setField(packet, "a", this.armorStand.getId());
+        ReflectionUtils.setField(packet, "b", Collections.singletonList(new DataWatcher.WatchableObject(4, 2, text)));
+        HCore.sendPacket(players, packet);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -105,8 +122,9 @@ public Location getLocation() {
      * {@inheritDoc}
      */
     @Override
-    public void setLocation(@Nonnull Location location) {
+    public void setLocation(@Nonnull Location location, @Nonnull List<Player> players) {
         Validate.notNull(location, "location cannot be null!");
+        Validate.notNull(players, "players cannot be null!");
 
         World world = ((CraftWorld) Validate.notNull(location.getWorld())).getHandle();
         if (!world.equals(this.click.getWorld())) this.click.spawnIn(world);
@@ -114,7 +132,7 @@ public void setLocation(@Nonnull Location location) {
         this.click.setLocation(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
         this.armorStand.setLocation(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
 
-        HCore.sendPacket(this.hologram.getRenderer().getShownPlayers(),
+        HCore.sendPacket(players,
                 new PacketPlayOutEntityTeleport(this.armorStand),
                 new PacketPlayOutEntityTeleport(this.click));
     }